@@ -3,6 +3,7 @@ package com.amarkhel.benchmark;
 import java.util.concurrent.TimeUnit;
 
 import com.amarkhel.*;
+import com.amarkhel.java.FusedGameService;
 import com.amarkhel.java.GameService;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.annotations.State;
@@ -21,10 +22,15 @@ public class BowlingBenchmark {
     private int size;
 
     private String[] samples;
+    private String[] batch;
 
     @Setup
     public void prepare() {
         samples = new String[]{"11|11|11|11|11|11|11|11|11|11||", "X|X|X|X|X|X|X|X|X|X||--", "X|X|X|X|X|X|X|X|X|X||11", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||", "X|X|X|X|X|X|X|X|X|X||XX"};
+        batch = new String[size];
+        for (int y = 0; y < size; y++) {
+            batch[y] = samples[y % samples.length];
+        }
     }
 
     @Benchmark
@@ -55,6 +61,20 @@ public class BowlingBenchmark {
         }
     }
 
+    @Benchmark
+    public void classicSinglePassValidatorJava(Blackhole fox) throws Exception {
+        for (int y = 0; y < size; y++) {
+            fox.consume(GameService.classicSinglePassValidator.calculateScore(samples[y % samples.length]));
+        }
+    }
+
+    @Benchmark
+    public void fusedJava(Blackhole fox) {
+        for (int y = 0; y < size; y++) {
+            fox.consume(FusedGameService.instance.calculateScore(samples[y % samples.length]));
+        }
+    }
+
     @Benchmark
     public void classicNoValidator(Blackhole fox) {
         for (int y = 0; y < size; y++) {
@@ -69,6 +89,27 @@ public class BowlingBenchmark {
         }
     }
 
+    @Benchmark
+    public void classicSinglePassValidator(Blackhole fox) {
+        for (int y = 0; y < size; y++) {
+            fox.consume(ClassicGameServiceSinglePassValidator$.MODULE$.calculateScore(samples[y % samples.length]));
+        }
+    }
+
+    @Benchmark
+    public void fastNoValidator(Blackhole fox) {
+        for (int y = 0; y < size; y++) {
+            fox.consume(FastGameServiceNoValidator$.MODULE$.calculateScore(samples[y % samples.length]));
+        }
+    }
+
+    @Benchmark
+    public void fastValidator(Blackhole fox) {
+        for (int y = 0; y < size; y++) {
+            fox.consume(FastGameService$.MODULE$.calculateScore(samples[y % samples.length]));
+        }
+    }
+
     @Benchmark
     public void fpNoValidator(Blackhole fox) {
         for (int y = 0; y < size; y++) {
@@ -82,4 +123,14 @@ public class BowlingBenchmark {
             fox.consume(FPGameService$.MODULE$.calculateScore(samples[y % samples.length]));
         }
     }
+
+    @Benchmark
+    public void classicValidatorJavaBatch(Blackhole fox) {
+        fox.consume(GameService.classic.calculateScores(batch));
+    }
+
+    @Benchmark
+    public void classicValidatorBatch(Blackhole fox) {
+        fox.consume(ClassicGameService$.MODULE$.calculateScores(batch));
+    }
 }
@@ -0,0 +1,61 @@
+package com.amarkhel.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.amarkhel.java.BulkScorer;
+import com.amarkhel.java.ScoringCoordinator;
+
+/**
+ * Load test of ScoringCoordinator against single JVM: the same file of generated games is scored by BulkScorer(all cores of this JVM)
+ * and by coordinator with 'workers' child JVMs. Each way runs 'rounds' times, the first round is warm-up of JIT(and of worker JVMs),
+ * the best of others is reported. Outputs are compared, so wrong answers are reported too.
+ */
+public final class ClusterLoadTest {
+
+    private ClusterLoadTest() {
+    }
+
+    private interface Job {
+        void run(Path input, Path output) throws IOException;
+    }
+
+    private static double gamesPerSecond(Job job, Path input, Path output, int games, int rounds) throws IOException {
+        double best = 0;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            job.run(input, output);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            if (round > 0 || rounds == 1) {
+                best = Math.max(best, games / seconds);
+            }
+        }
+        return best;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int games = Integer.getInteger("games", 2_000_000);
+        int workers = Integer.getInteger("workers", 2);
+        int rounds = Integer.getInteger("rounds", 3);
+        Path input = Files.createTempFile("games", ".txt");
+        Path single = Files.createTempFile("single", ".txt");
+        Path cluster = Files.createTempFile("cluster", ".txt");
+        try {
+            Files.write(input, Arrays.asList(GameGenerator.games(42, games, 0.3, 0.3, 0.05)), StandardCharsets.US_ASCII);
+            BulkScorer bulk = new BulkScorer();
+            System.out.printf("single JVM: %.0f games/s%n", gamesPerSecond(bulk::score, input, single, games, rounds));
+            try (ScoringCoordinator coordinator = new ScoringCoordinator(workers)) {
+                System.out.printf("%d workers: %.0f games/s, %d restarts%n", workers,
+                    gamesPerSecond(coordinator::score, input, cluster, games, rounds), coordinator.getRestarts());
+            }
+            System.out.println(Arrays.equals(Files.readAllBytes(single), Files.readAllBytes(cluster)) ? "outputs are equal" : "OUTPUTS DIFFER");
+        } finally {
+            Files.delete(input);
+            Files.delete(single);
+            Files.delete(cluster);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.amarkhel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.amarkhel.java.ClassicCalculation;
+import com.amarkhel.java.ColumnarCalculation;
+import com.amarkhel.java.GameColumns;
+import com.amarkhel.java.PackedGame;
+import com.amarkhel.java.model.Game;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This benchmark compares scoring of the same correct games by classic calculation in a loop
+ * and by columnar kernel, and measures conversion of text to columns. Each operation processes all games.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ColumnarBenchmark {
+    @Param({ "10000" })
+    private int size;
+
+    private String[] samples;
+    private Game[] games;
+    private GameColumns columns;
+    private GameColumns buffer;
+    private int[] scores;
+    private final ClassicCalculation classic = new ClassicCalculation();
+    private final ColumnarCalculation columnar = new ColumnarCalculation();
+
+    @Setup
+    public void prepare() throws Exception {
+        samples = GameGenerator.legalGames(42, size);
+        games = new Game[size];
+        for (int y = 0; y < size; y++) {
+            games[y] = PackedGame.parse(samples[y]).toGame();
+        }
+        columns = GameColumns.parse(samples);
+        buffer = new GameColumns(size);
+        scores = new int[size];
+    }
+
+    @Benchmark
+    public void classic(Blackhole fox) {
+        for (int y = 0; y < size; y++) {
+            fox.consume(classic.score(games[y]));
+        }
+    }
+
+    @Benchmark
+    public int[] columnar() {
+        columnar.score(columns, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public GameColumns convert() {
+        buffer.clear();
+        for (String sample : samples) {
+            buffer.add(sample);
+        }
+        return buffer;
+    }
+}
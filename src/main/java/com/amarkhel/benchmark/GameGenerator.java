@@ -0,0 +1,120 @@
+package com.amarkhel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates seeded random corpora of games in text format.
+ * In 'legalGames' pins of each ball are uniformly distributed among values, allowed by pins left standing,
+ * so strikes, spares and open frames are mixed unpredictably.
+ * In 'games' density of strikes and spares is given explicitly, and given part of games is made incorrect
+ * by one of typical mistakes(wrong symbol, missed frame, wrong frame, missed or extra bonus).
+ */
+public final class GameGenerator {
+
+    private GameGenerator() {
+    }
+
+    public static String[] legalGames(long seed, int count) {
+        Random random = new Random(seed);
+        String[] games = new String[count];
+        for (int i = 0; i < count; i++) {
+            games[i] = legalGame(random);
+        }
+        return games;
+    }
+
+    /**
+     * Each frame is strike with probability 'strikeRate', otherwise spare with probability 'spareRate', otherwise open one.
+     * Each game is incorrect with probability 'invalidRate'.
+     */
+    public static String[] games(long seed, int count, double strikeRate, double spareRate, double invalidRate) {
+        if (strikeRate < 0 || spareRate < 0 || strikeRate + spareRate > 1 || invalidRate < 0 || invalidRate > 1) {
+            throw new IllegalArgumentException("Rates should be probabilities and strike and spare rates should not exceed 1 together");
+        }
+        Random random = new Random(seed);
+        String[] games = new String[count];
+        for (int i = 0; i < count; i++) {
+            List<String> frames = new ArrayList<>();
+            for (int frame = 0; frame < 10; frame++) {
+                frames.add(frame(random, strikeRate, spareRate));
+            }
+            String last = frames.get(frames.size() - 1);
+            StringBuilder bonus = new StringBuilder();
+            for (int ball = 0; ball < (last.equals("X") ? 2 : last.endsWith("/") ? 1 : 0); ball++) {
+                bonus.append(symbol(random.nextInt(11)));
+            }
+            games[i] = random.nextDouble() < invalidRate ? corrupt(random, frames, bonus) : String.join("|", frames) + "||" + bonus;
+        }
+        return games;
+    }
+
+    private static String frame(Random random, double strikeRate, double spareRate) {
+        double kind = random.nextDouble();
+        if (kind < strikeRate) {
+            return "X";
+        }
+        int first = random.nextInt(10);
+        if (kind < strikeRate + spareRate) {
+            return symbol(first) + "/";
+        }
+        return "" + symbol(first) + symbol(random.nextInt(10 - first));
+    }
+
+    private static String corrupt(Random random, List<String> frames, StringBuilder bonus) {
+        int frame = random.nextInt(frames.size());
+        switch (random.nextInt(6)) {
+            case 0:
+                frames.set(frame, frames.get(frame) + "a");
+                break;
+            case 1:
+                frames.remove(frame);
+                break;
+            case 2:
+                frames.set(frame, "56");
+                break;
+            case 3:
+                frames.set(frame, "X5");
+                break;
+            case 4:
+                frames.set(frame, "5");
+                break;
+            default:
+                if (bonus.length() > 0) {
+                    bonus.setLength(0);
+                } else {
+                    bonus.append('5');
+                }
+        }
+        return String.join("|", frames) + "||" + bonus;
+    }
+
+    private static String legalGame(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int bonusBalls = 0;
+        for (int frame = 0; frame < 10; frame++) {
+            if (frame > 0) {
+                builder.append('|');
+            }
+            int first = random.nextInt(11);
+            if (first == 10) {
+                builder.append('X');
+                bonusBalls = 2;
+            } else {
+                int second = random.nextInt(11 - first);
+                builder.append(symbol(first)).append(first + second == 10 ? '/' : symbol(second));
+                bonusBalls = first + second == 10 ? 1 : 0;
+            }
+        }
+        builder.append("||");
+        for (int i = 0; i < bonusBalls; i++) {
+            builder.append(symbol(random.nextInt(11)));
+        }
+        return builder.toString();
+    }
+
+    private static char symbol(int pins) {
+        return pins == 0 ? '-' : pins == 10 ? 'X' : (char) ('0' + pins);
+    }
+}
@@ -0,0 +1,77 @@
+package com.amarkhel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.amarkhel.java.ClassicCalculation;
+import com.amarkhel.java.GameService;
+import com.amarkhel.java.Parser;
+import com.amarkhel.java.validator.FullValidator;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * This benchmark shows cost of metrics of GameService: 'baseline' calls parser and calculation directly,
+ * 'disabled' calls not instrumented service(the same work plus check, that metrics are absent)
+ * and 'enabled' calls instrumented service. 'baseline' and 'disabled' should not differ more then error of measurement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class MetricsBenchmark {
+    @Param({ "10000" })
+    private int size;
+    @Param({ "0.15" })
+    private double invalidRate;
+
+    private final Parser parser = new Parser(new FullValidator());
+    private final ClassicCalculation calculation = new ClassicCalculation();
+    private final GameService instrumented = GameService.classic.withMetrics("MetricsBenchmark");
+    private String[] games;
+    private int index;
+
+    @Setup
+    public void prepare() {
+        games = GameGenerator.games(42, size, 0.3, 0.3, invalidRate);
+    }
+
+    @TearDown
+    public void unregister() {
+        instrumented.getMetrics().unregister();
+    }
+
+    private String next() {
+        if (++index == games.length) {
+            index = 0;
+        }
+        return games[index];
+    }
+
+    @Benchmark
+    public Object baseline() {
+        try {
+            return calculation.score(parser.parse(next()));
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object disabled() {
+        try {
+            return GameService.classic.calculateScore(next());
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object enabled() {
+        try {
+            return instrumented.calculateScore(next());
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
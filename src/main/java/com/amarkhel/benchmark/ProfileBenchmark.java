@@ -0,0 +1,65 @@
+package com.amarkhel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.amarkhel.java.Calculation;
+import com.amarkhel.java.ClassicCalculation;
+import com.amarkhel.java.Parser;
+import com.amarkhel.java.ProfileCalculation;
+import com.amarkhel.java.RuleProfile;
+import com.amarkhel.java.model.Game;
+import com.amarkhel.java.validator.FullValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This benchmark checks, that standard profile costs nothing: 'classic' calls ClassicCalculation directly,
+ * 'profile' calls calculation compiled from RuleProfile.STANDARD, and 'generic' calls ProfileCalculation
+ * for the same profile, to show the price of not specialized path. Games are random correct 10-pin ones.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ProfileBenchmark {
+    @Param({ "10000" })
+    private int size;
+
+    private Game[] games;
+    private final Calculation classic = new ClassicCalculation();
+    private final Calculation profile = RuleProfile.STANDARD.calculation();
+    private final Calculation generic = new ProfileCalculation(RuleProfile.STANDARD);
+
+    @Setup
+    public void prepare() throws Exception {
+        Parser parser = new Parser(new FullValidator());
+        String[] samples = GameGenerator.legalGames(42, size);
+        games = new Game[size];
+        for (int y = 0; y < size; y++) {
+            games[y] = parser.parse(samples[y]);
+        }
+    }
+
+    @Benchmark
+    public void classic(Blackhole fox) {
+        for (Game game : games) {
+            fox.consume(classic.score(game));
+        }
+    }
+
+    @Benchmark
+    public void profile(Blackhole fox) {
+        for (Game game : games) {
+            fox.consume(profile.score(game));
+        }
+    }
+
+    @Benchmark
+    public void generic(Blackhole fox) {
+        for (Game game : games) {
+            fox.consume(generic.score(game));
+        }
+    }
+}
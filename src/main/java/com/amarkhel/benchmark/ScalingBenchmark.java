@@ -0,0 +1,144 @@
+package com.amarkhel.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.amarkhel.*;
+import com.amarkhel.java.CachedGameService;
+import com.amarkhel.java.FusedGameService;
+import com.amarkhel.java.GameService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This benchmark runs shared service singletons from many threads at once, like request threads do in production.
+ * Corpus of games is shared by all threads, and each thread only keeps its own position in it.
+ * 'main' runs all benchmarks with 1, 2, 4... up to 'maxThreads'(system property, all processors by default) threads
+ * and prints throughput for each thread count and scaling efficiency: throughput of N threads divided by
+ * N throughputs of 1 thread. Efficiency much lower then 1 on the host with enough cores means contention,
+ * false sharing or shared mutable state in the service. Command line options of JMH are accepted too.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ScalingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Corpus {
+        @Param({ "10000" })
+        int size;
+        @Param({ "0.15" })
+        double invalidRate;
+
+        String[] games;
+        CachedGameService cached;
+
+        @Setup
+        public void prepare() {
+            games = GameGenerator.games(42, size, 0.3, 0.3, invalidRate);
+            cached = new CachedGameService(GameService.classic, size);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+
+        String next(Corpus corpus) {
+            if (++index == corpus.games.length) {
+                index = 0;
+            }
+            return corpus.games[index];
+        }
+    }
+
+    @Benchmark
+    public Object classicJava(Corpus corpus, Cursor cursor) {
+        return GameService.classic.tryCalculateScore(cursor.next(corpus));
+    }
+
+    @Benchmark
+    public Object fpJava(Corpus corpus, Cursor cursor) {
+        return GameService.fp.tryCalculateScore(cursor.next(corpus));
+    }
+
+    @Benchmark
+    public Object classicSinglePassValidatorJava(Corpus corpus, Cursor cursor) {
+        return GameService.classicSinglePassValidator.tryCalculateScore(cursor.next(corpus));
+    }
+
+    @Benchmark
+    public Object fusedJava(Corpus corpus, Cursor cursor) {
+        return FusedGameService.instance.tryScore(cursor.next(corpus));
+    }
+
+    @Benchmark
+    public Object cachedJava(Corpus corpus, Cursor cursor) {
+        try {
+            return corpus.cached.calculateScore(cursor.next(corpus));
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object classic(Corpus corpus, Cursor cursor) {
+        return ClassicGameService$.MODULE$.tryCalculateScore(cursor.next(corpus));
+    }
+
+    @Benchmark
+    public Object fp(Corpus corpus, Cursor cursor) {
+        return FPGameService$.MODULE$.tryCalculateScore(cursor.next(corpus));
+    }
+
+    @Benchmark
+    public Object classicSinglePassValidator(Corpus corpus, Cursor cursor) {
+        return ClassicGameServiceSinglePassValidator$.MODULE$.tryCalculateScore(cursor.next(corpus));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = Integer.getInteger("maxThreads", Runtime.getRuntime().availableProcessors());
+        Map<String, Map<Integer, Double>> throughputs = new LinkedHashMap<>();
+        for (int threads : threadCounts(maxThreads)) {
+            Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ScalingBenchmark.class.getName())
+                .threads(threads)
+                .build()).run();
+            for (RunResult result : results) {
+                String label = result.getParams().getBenchmark();
+                throughputs.computeIfAbsent(label.substring(label.lastIndexOf('.') + 1), name -> new LinkedHashMap<>())
+                    .put(threads, result.getPrimaryResult().getScore());
+            }
+        }
+        System.out.printf("%n%-32s %8s %14s %14s %10s%n", "Benchmark", "Threads", "ops/s", "ops/s/thread", "Efficiency");
+        for (Map.Entry<String, Map<Integer, Double>> benchmark : throughputs.entrySet()) {
+            Double single = benchmark.getValue().get(1);
+            for (Map.Entry<Integer, Double> run : benchmark.getValue().entrySet()) {
+                int threads = run.getKey();
+                double throughput = run.getValue();
+                System.out.printf("%-32s %8d %14.0f %14.0f %10.2f%n", benchmark.getKey(), threads, throughput,
+                    throughput / threads, single == null ? Double.NaN : throughput / (threads * single));
+            }
+        }
+    }
+
+    static List<Integer> threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(maxThreads);
+        return counts;
+    }
+}
@@ -0,0 +1,94 @@
+package com.amarkhel.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import com.amarkhel.java.ScoringServer;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * This benchmark measures round trip of ScoringServer over loopback: 'single' sends one game and waits for its answer,
+ * 'pipelined' sends 'pipeline' games at once and waits for all answers.
+ * Sample time mode is used, so percentiles of round trip are printed besides average.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ServerBenchmark {
+    @Param({ "64" })
+    private int pipeline;
+
+    private ScoringServer server;
+    private Socket socket;
+    private OutputStream output;
+    private InputStream input;
+    private byte[][] windows;
+    private byte[] single;
+    private final byte[] answers = new byte[64 * 1024];
+    private int index;
+
+    @Setup
+    public void prepare() throws IOException {
+        String[] games = GameGenerator.games(42, 10000, 0.3, 0.3, 0.15);
+        windows = new byte[games.length / pipeline][];
+        for (int i = 0; i < windows.length; i++) {
+            StringBuilder window = new StringBuilder();
+            for (int j = 0; j < pipeline; j++) {
+                window.append(games[i * pipeline + j]).append('\n');
+            }
+            windows[i] = window.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        single = (games[0] + "\n").getBytes(StandardCharsets.US_ASCII);
+        server = new ScoringServer(new InetSocketAddress("127.0.0.1", 0)).start();
+        socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress("127.0.0.1", server.getPort()));
+        output = socket.getOutputStream();
+        input = socket.getInputStream();
+    }
+
+    @TearDown
+    public void stop() throws IOException {
+        socket.close();
+        server.close();
+    }
+
+    private int roundTrip(byte[] request, int count) throws IOException {
+        output.write(request);
+        output.flush();
+        int received = 0;
+        while (received < count) {
+            int read = input.read(answers);
+            if (read < 0) {
+                throw new IOException("Server closed connection");
+            }
+            for (int i = 0; i < read; i++) {
+                if (answers[i] == '\n') {
+                    received++;
+                }
+            }
+        }
+        return received;
+    }
+
+    @Benchmark
+    public int single() throws IOException {
+        return roundTrip(single, 1);
+    }
+
+    @Benchmark
+    public int pipelined() throws IOException {
+        if (++index == windows.length) {
+            index = 0;
+        }
+        return roundTrip(windows[index], pipeline);
+    }
+}
@@ -0,0 +1,151 @@
+package com.amarkhel.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.amarkhel.java.FusedGameService;
+import com.amarkhel.java.ScoreResult;
+import com.amarkhel.java.ScoringServer;
+import com.amarkhel.java.metrics.LatencyHistogram;
+import lombok.Value;
+
+/**
+ * Load test of ScoringServer over loopback. Each connection is served by its own thread, which sends games
+ * in windows of 'pipeline' lines without waiting for answers, then reads all answers of the window.
+ * Latency of request is time from sending its window till receiving its answer.
+ * Answers are checked against FusedGameService, so wrong answers are reported too.
+ * Without host and port in arguments, server is started in the same process.
+ */
+public final class ServerLoadTest {
+
+    private ServerLoadTest() {
+    }
+
+    @Value
+    public static class Report {
+        long requests;
+        long mismatches;
+        double seconds;
+        LatencyHistogram.Snapshot latency;
+
+        public double getRequestsPerSecond() {
+            return requests / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests in %.2f s: %.0f requests/s, latency p50 %d us, p99 %d us, p99.9 %d us, %d wrong answers",
+                requests, seconds, getRequestsPerSecond(), latency.percentileNanos(50) / 1000,
+                latency.percentileNanos(99) / 1000, latency.percentileNanos(99.9) / 1000, mismatches);
+        }
+    }
+
+    public static Report run(InetSocketAddress address, int connections, int requestsPerConnection, int pipeline,
+                             String[] games) throws Exception {
+        byte[][] lines = new byte[games.length][];
+        int[] expected = new int[games.length];
+        for (int i = 0; i < games.length; i++) {
+            lines[i] = (games[i] + "\n").getBytes(StandardCharsets.US_ASCII);
+            ScoreResult result = FusedGameService.instance.tryScore(games[i]);
+            expected[i] = result.isSuccess() ? result.getScore() : -result.getError().getCode();
+        }
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder mismatches = new LongAdder();
+        ExecutorService pool = Executors.newFixedThreadPool(connections);
+        try {
+            List<Future<?>> clients = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int c = 0; c < connections; c++) {
+                int offset = c * requestsPerConnection;
+                clients.add(pool.submit(() -> {
+                    load(address, requestsPerConnection, pipeline, lines, expected, offset, latency, mismatches);
+                    return null;
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return new Report((long) connections * requestsPerConnection, mismatches.sum(), seconds, latency.snapshot());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void load(InetSocketAddress address, int requests, int pipeline, byte[][] lines, int[] expected, int offset,
+                             LatencyHistogram latency, LongAdder mismatches) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.setTcpNoDelay(true);
+            socket.connect(address);
+            OutputStream output = socket.getOutputStream();
+            InputStream input = socket.getInputStream();
+            byte[] window = new byte[pipeline * (ScoringServer.MAX_LINE_LENGTH + 2)];
+            byte[] answers = new byte[64 * 1024];
+            for (int sent = 0; sent < requests; sent += pipeline) {
+                int count = Math.min(pipeline, requests - sent);
+                int size = 0;
+                for (int i = 0; i < count; i++) {
+                    byte[] line = lines[(offset + sent + i) % lines.length];
+                    System.arraycopy(line, 0, window, size, line.length);
+                    size += line.length;
+                }
+                long windowStart = System.nanoTime();
+                output.write(window, 0, size);
+                output.flush();
+                int received = 0;
+                int value = 0;
+                boolean negative = false;
+                while (received < count) {
+                    int read = input.read(answers);
+                    if (read < 0) {
+                        throw new IOException("Server closed connection");
+                    }
+                    long now = System.nanoTime();
+                    for (int i = 0; i < read; i++) {
+                        byte symbol = answers[i];
+                        if (symbol == '\n') {
+                            latency.record(now - windowStart);
+                            if ((negative ? -value : value) != expected[(offset + sent + received) % lines.length]) {
+                                mismatches.increment();
+                            }
+                            received++;
+                            value = 0;
+                            negative = false;
+                        } else if (symbol == '-') {
+                            negative = true;
+                        } else {
+                            value = value * 10 + symbol - '0';
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = Integer.getInteger("connections", 4);
+        int requests = Integer.getInteger("requests", 250000);
+        int pipeline = Integer.getInteger("pipeline", 64);
+        String[] games = GameGenerator.games(42, 10000, 0.3, 0.3, 0.15);
+        if (args.length == 2) {
+            System.out.println(run(new InetSocketAddress(args[0], Integer.parseInt(args[1])), connections, requests, pipeline, games));
+        } else {
+            try (ScoringServer server = new ScoringServer(new InetSocketAddress("127.0.0.1", 0)).start()) {
+                InetSocketAddress address = new InetSocketAddress("127.0.0.1", server.getPort());
+                //warm up
+                run(address, connections, requests / 10, pipeline, games);
+                System.out.println(run(address, connections, requests, pipeline, games));
+            }
+        }
+    }
+}
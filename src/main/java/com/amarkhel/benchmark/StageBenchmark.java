@@ -0,0 +1,248 @@
+package com.amarkhel.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.amarkhel.java.ClassicCalculation;
+import com.amarkhel.java.FPCalculation;
+import com.amarkhel.java.Parser;
+import com.amarkhel.java.TableCalculation;
+import com.amarkhel.java.model.Frame;
+import com.amarkhel.java.model.Game;
+import com.amarkhel.java.validator.FullValidator;
+import com.amarkhel.java.validator.NoOpValidator;
+import com.amarkhel.java.validator.SinglePassValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import scala.reflect.ClassTag$;
+
+/**
+ * This benchmark measures each stage separately: parsing(without validation), validation of parsed frames
+ * and score calculation of pre-built correct games, in both Java and Scala implementations.
+ * Games are generated by 'GameGenerator.games' with given density of strikes and spares and given part of incorrect ones,
+ * so parser and validators see incorrect inputs too, while calculations see correct games only.
+ * Each operation processes one game, so bytes/op of gc profiler is allocation per game.
+ * 'main' runs the suite with gc profiler, prints ops/s and bytes/op of each benchmark and exits with error,
+ * if benchmark from ALLOCATION_BUDGETS allocates more then its budget. Command line options of JMH are accepted too.
+ * The same check is run by opt-in 'mvn -B verify -Pallocation-check'(see pom.xml). It is manual, not part of unit tests
+ * or of the default build, because numbers of gc profiler need forked JVM, warmup and minutes of run time.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class StageBenchmark {
+
+    /**
+     * Maximum bytes per game. Benchmarks, which should not allocate, get almost zero budget(error reports of validators
+     * are still allocated for incorrect games), Scala parsing and calculations, which allocate by design, get measured
+     * allocation with about 20% of headroom, so only regression fails the check.
+     */
+    static final Map<String, Double> ALLOCATION_BUDGETS = new HashMap<>();
+
+    static {
+        ALLOCATION_BUDGETS.put("scoreJavaClassic", 1.0);
+        ALLOCATION_BUDGETS.put("scoreJavaTable", 1.0);
+        ALLOCATION_BUDGETS.put("validateJavaSinglePass", 16.0);
+        ALLOCATION_BUDGETS.put("validateScalaSinglePass", 16.0);
+        ALLOCATION_BUDGETS.put("parseScala", 5120.0);
+        ALLOCATION_BUDGETS.put("scoreScalaClassic", 112.0);
+        ALLOCATION_BUDGETS.put("scoreScalaFP", 1344.0);
+    }
+
+    @Param({ "10000" })
+    private int size;
+    @Param({ "0.3" })
+    private double strikeRate;
+    @Param({ "0.3" })
+    private double spareRate;
+    @Param({ "0", "0.15" })
+    private double invalidRate;
+
+    private final Parser javaParser = new Parser(new NoOpValidator());
+    private final FullValidator javaFullValidator = new FullValidator();
+    private final SinglePassValidator javaSinglePassValidator = new SinglePassValidator();
+    private final ClassicCalculation javaClassic = new ClassicCalculation();
+    private final FPCalculation javaFP = new FPCalculation();
+    private final TableCalculation javaTable = new TableCalculation();
+    private final com.amarkhel.Parser scalaParser = new com.amarkhel.Parser(com.amarkhel.NoOpValidator$.MODULE$);
+
+    private String[] inputs;
+    private List<Frame>[] javaFrames;
+    private Game[] javaGames;
+    private com.amarkhel.Frame[][] scalaFrames;
+    private com.amarkhel.Game[] scalaGames;
+    private int input;
+    private int frames;
+    private int game;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void prepare() throws Exception {
+        inputs = GameGenerator.games(42, size, strikeRate, spareRate, invalidRate);
+        Parser fullParser = new Parser(new FullValidator());
+        List<List<Frame>> parsedFrames = new ArrayList<>();
+        List<com.amarkhel.Frame[]> parsedScalaFrames = new ArrayList<>();
+        List<Game> legal = new ArrayList<>();
+        List<com.amarkhel.Game> scalaLegal = new ArrayList<>();
+        for (String input : inputs) {
+            try {
+                parsedFrames.add(javaParser.parse(input).getFrames());
+                com.amarkhel.Game parsed = scalaParser.parse(input);
+                parsedScalaFrames.add((com.amarkhel.Frame[]) parsed.frames().toArray(ClassTag$.MODULE$.apply(com.amarkhel.Frame.class)));
+            } catch (Exception e) {
+                continue;
+            }
+            try {
+                legal.add(fullParser.parse(input));
+                scalaLegal.add(com.amarkhel.Parser.apply(com.amarkhel.FullValidator$.MODULE$).parse(input));
+            } catch (Exception e) {
+                //incorrect games are not passed to calculations
+            }
+        }
+        javaFrames = parsedFrames.toArray(new List[0]);
+        scalaFrames = parsedScalaFrames.toArray(new com.amarkhel.Frame[0][]);
+        javaGames = legal.toArray(new Game[0]);
+        scalaGames = scalaLegal.toArray(new com.amarkhel.Game[0]);
+    }
+
+    private String nextInput() {
+        if (++input == inputs.length) {
+            input = 0;
+        }
+        return inputs[input];
+    }
+
+    private int nextFrames() {
+        if (++frames == javaFrames.length) {
+            frames = 0;
+        }
+        return frames;
+    }
+
+    private int nextGame() {
+        if (++game == javaGames.length) {
+            game = 0;
+        }
+        return game;
+    }
+
+    @Benchmark
+    public Object parseJava() {
+        try {
+            return javaParser.parse(nextInput());
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object parseScala() {
+        try {
+            return scalaParser.parse(nextInput());
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object validateJavaFull() {
+        return javaFullValidator.validate(javaFrames[nextFrames()]);
+    }
+
+    @Benchmark
+    public Object validateJavaSinglePass() {
+        return javaSinglePassValidator.validate(javaFrames[nextFrames()]);
+    }
+
+    @Benchmark
+    public Object validateScalaFull() {
+        return com.amarkhel.FullValidator$.MODULE$.validate(scalaFrames[nextFrames()]);
+    }
+
+    @Benchmark
+    public Object validateScalaSinglePass() {
+        return com.amarkhel.SinglePassValidator$.MODULE$.validate(scalaFrames[nextFrames()]);
+    }
+
+    @Benchmark
+    public int scoreJavaClassic() {
+        return javaClassic.score(javaGames[nextGame()]);
+    }
+
+    @Benchmark
+    public int scoreJavaFP() {
+        return javaFP.score(javaGames[nextGame()]);
+    }
+
+    @Benchmark
+    public int scoreJavaTable() {
+        return javaTable.score(javaGames[nextGame()]);
+    }
+
+    @Benchmark
+    public int scoreScalaClassic() {
+        return com.amarkhel.ClassicCalculation$.MODULE$.score(scalaGames[nextGame()]);
+    }
+
+    @Benchmark
+    public int scoreScalaFP() {
+        return com.amarkhel.FPCalculation$.MODULE$.score(scalaGames[nextGame()]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .include(StageBenchmark.class.getName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+        List<String> exceeded = new ArrayList<>();
+        System.out.printf("%n%-26s %-60s %14s %10s%n", "Benchmark", "Params", "ops/s", "B/op");
+        for (RunResult result : results) {
+            String label = result.getParams().getBenchmark();
+            String name = label.substring(label.lastIndexOf('.') + 1);
+            double bytes = allocation(result);
+            System.out.printf("%-26s %-60s %14.0f %10.1f%n", name, params(result), result.getPrimaryResult().getScore(), bytes);
+            Double budget = ALLOCATION_BUDGETS.get(name);
+            if (budget != null && bytes > budget) {
+                exceeded.add(String.format("%s(%s) allocates %.1f B/op, budget is %.1f B/op", name, params(result), bytes, budget));
+            }
+        }
+        if (!exceeded.isEmpty()) {
+            System.err.println("Allocation regression:");
+            exceeded.forEach(System.err::println);
+            System.exit(1);
+        }
+    }
+
+    private static double allocation(RunResult result) {
+        for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith("gc.alloc.rate.norm")) {
+                return entry.getValue().getScore();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static String params(RunResult result) {
+        StringBuilder params = new StringBuilder();
+        for (String key : result.getParams().getParamsKeys()) {
+            if (params.length() > 0) {
+                params.append(' ');
+            }
+            params.append(key).append('=').append(result.getParams().getParam(key));
+        }
+        return params.toString();
+    }
+}
@@ -0,0 +1,78 @@
+package com.amarkhel.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import com.amarkhel.java.ClassicCalculation;
+import com.amarkhel.java.PackedCalculation;
+import com.amarkhel.java.PackedGame;
+import com.amarkhel.java.store.GameStore;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * This benchmark measures GameStore: 'append' writes 'size' packed games with metadata into the store, which is recreated
+ * for each iteration, 'replayPacked' and 'replayClassic' re-score all stored games by PackedCalculation(straight from records)
+ * and by ClassicCalculation(records are converted to Game).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class StoreBenchmark {
+    @Param({ "100000" })
+    private int size;
+
+    private PackedGame[] games;
+    private Path directory;
+    private GameStore store;
+    private final PackedCalculation packed = new PackedCalculation();
+    private final ClassicCalculation classic = new ClassicCalculation();
+
+    @Setup
+    public void prepare() throws Exception {
+        String[] samples = GameGenerator.legalGames(42, size);
+        games = new PackedGame[size];
+        for (int y = 0; y < size; y++) {
+            games[y] = PackedGame.parse(samples[y]);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void open() throws IOException {
+        directory = Files.createTempDirectory("store-benchmark");
+        store = GameStore.open(directory);
+        for (int y = 0; y < size; y++) {
+            store.append(games[y], y, y);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void delete() throws IOException {
+        store.close();
+        Files.walk(directory).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+
+    @Benchmark
+    public long append() throws IOException {
+        long id = 0;
+        for (int y = 0; y < size; y++) {
+            id = store.append(games[y], y, y);
+        }
+        return id;
+    }
+
+    @Benchmark
+    public int[] replayPacked() {
+        return store.replay(packed, 0, size);
+    }
+
+    @Benchmark
+    public int[] replayClassic() {
+        return store.replay(classic, 0, size);
+    }
+}
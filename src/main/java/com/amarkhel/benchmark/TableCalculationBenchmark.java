@@ -0,0 +1,73 @@
+package com.amarkhel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.amarkhel.java.ClassicCalculation;
+import com.amarkhel.java.PackedCalculation;
+import com.amarkhel.java.PackedGame;
+import com.amarkhel.java.TableCalculation;
+import com.amarkhel.java.model.Game;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This benchmark compares calculation algorithms on pre-parsed games, so only score calculation is measured.
+ * Games are random, so strike/spare branches of classic algorithm can't be predicted by CPU.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+public class TableCalculationBenchmark {
+    @Param({ "10000" })
+    private int size;
+
+    private Game[] games;
+    private byte[][] codes;
+    private PackedGame[] packed;
+    private final ClassicCalculation classic = new ClassicCalculation();
+    private final TableCalculation table = new TableCalculation();
+    private final PackedCalculation packedCalculation = new PackedCalculation();
+
+    @Setup
+    public void prepare() throws Exception {
+        String[] samples = GameGenerator.legalGames(42, size);
+        games = new Game[size];
+        codes = new byte[size][];
+        packed = new PackedGame[size];
+        for (int y = 0; y < size; y++) {
+            packed[y] = PackedGame.parse(samples[y]);
+            games[y] = packed[y].toGame();
+            codes[y] = TableCalculation.encode(games[y]);
+        }
+    }
+
+    @Benchmark
+    public void classic(Blackhole fox) {
+        for (int y = 0; y < size; y++) {
+            fox.consume(classic.score(games[y]));
+        }
+    }
+
+    @Benchmark
+    public void table(Blackhole fox) {
+        for (int y = 0; y < size; y++) {
+            fox.consume(table.score(games[y]));
+        }
+    }
+
+    @Benchmark
+    public void tableOnCodes(Blackhole fox) {
+        for (int y = 0; y < size; y++) {
+            fox.consume(table.score(codes[y]));
+        }
+    }
+
+    @Benchmark
+    public void packed(Blackhole fox) {
+        for (int y = 0; y < size; y++) {
+            fox.consume(packedCalculation.score(packed[y]));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.amarkhel.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.amarkhel.java.IncrementalScorer;
+import com.amarkhel.java.WhatIfAnalytics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This benchmark measures refresh of "what-if" analytics for a league: 'maxScore' asks the highest reachable score of each lane,
+ * 'outlook' answers whether each lane can still win and how many pins it needs. Lanes are random games stopped at random ball.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class WhatIfBenchmark {
+    @Param({ "1000" })
+    private int size;
+
+    private IncrementalScorer[] lanes;
+
+    @Setup
+    public void prepare() {
+        Random random = new Random(42);
+        lanes = new IncrementalScorer[size];
+        for (int y = 0; y < size; y++) {
+            IncrementalScorer lane = new IncrementalScorer();
+            int balls = random.nextInt(21);
+            int standing = 10;
+            for (int ball = 0; ball < balls && !lane.isComplete(); ball++) {
+                int frame = lane.getFrame();
+                int pins = random.nextInt(standing + 1);
+                lane.roll(pins);
+                standing = lane.getFrame() == frame && frame < 10 ? standing - pins : 10;
+            }
+            lanes[y] = lane;
+        }
+    }
+
+    @Benchmark
+    public void maxScore(Blackhole fox) {
+        for (IncrementalScorer lane : lanes) {
+            fox.consume(WhatIfAnalytics.getMaxScore(lane));
+        }
+    }
+
+    @Benchmark
+    public WhatIfAnalytics.Outlook[] outlook() {
+        return WhatIfAnalytics.outlook(lanes);
+    }
+}
@@ -0,0 +1,63 @@
+package com.amarkhel.java;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Mutable CharSequence view over ASCII bytes of ByteBuffer or byte array. It doesn't copy or decode anything,
+ * so one instance can be re-pointed to every game of a large buffer without allocations.
+ * Buffer backed by accessible array is read through the array, other buffers(direct, read-only) by absolute 'get'.
+ * It is not thread-safe and should not escape the method, which owns it.
+ */
+final class AsciiSequence implements CharSequence {
+
+    private ByteBuffer buffer;
+    private byte[] array;
+    private int offset;
+    private int length;
+
+    AsciiSequence wrap(ByteBuffer buffer, int offset, int length) {
+        if (buffer.hasArray()) {
+            return wrap(buffer.array(), buffer.arrayOffset() + offset, length);
+        }
+        this.buffer = buffer;
+        this.array = null;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    AsciiSequence wrap(byte[] array, int offset, int length) {
+        this.buffer = null;
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return (char) ((array != null ? array[offset + index] : buffer.get(offset + index)) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(charAt(i));
+        }
+        return builder.toString();
+    }
+}
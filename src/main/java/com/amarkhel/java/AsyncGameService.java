@@ -0,0 +1,211 @@
+package com.amarkhel.java;
+
+import com.amarkhel.java.metrics.LatencyHistogram;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous facade of GameService: callers get CompletableFuture immediately and games are scored by own pool of workers.
+ * 1) Count of in-flight requests(queued and being scored) is bounded by 'capacity'. When it is reached, new request is handled
+ *    by Overflow policy: rejected(future fails with RejectedExecutionException), blocks caller until there is space,
+ *    or is scored in the calling thread.
+ * 2) Worker takes all queued requests, up to 'maxBatch', and scores them in one pass, so under load the cost of waking
+ *    up worker and of queue synchronization is shared by the batch.
+ * 3) Queue depth, in-flight count, rejections, batch sizes and time, which requests wait in the queue, are reported
+ *    to tune pool size and capacity.
+ * Closing the service stops accepting requests, but already accepted ones are scored. Request, which is enqueued
+ * concurrently with closing, is scored by its caller, if workers and close() have already missed it.
+ */
+public final class AsyncGameService implements Closeable {
+
+    public enum Overflow {
+        REJECT, BLOCK, CALLER_RUNS
+    }
+
+    private final GameService service;
+    private final Overflow overflow;
+    private final int maxBatch;
+    private final int capacity;
+    private final Semaphore permits;
+    private final BlockingQueue<Request> queue;
+    private final Thread[] workers;
+    private final LatencyHistogram waitLatency = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batched = new LongAdder();
+    private volatile boolean closed;
+
+    public AsyncGameService(GameService service, int threads, int capacity, int maxBatch, Overflow overflow) {
+        if (threads <= 0 || capacity <= 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("Threads, capacity and batch size should be positive");
+        }
+        this.service = service;
+        this.overflow = overflow;
+        this.maxBatch = maxBatch;
+        this.capacity = capacity;
+        permits = new Semaphore(capacity);
+        queue = new ArrayBlockingQueue<>(capacity);
+        workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(this::work, "async-game-service-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Future fails with ParseException, when input is incorrect.
+     */
+    public CompletableFuture<Integer> calculateScore(String input) {
+        return tryCalculateScore(input).thenApply(ScoreResult::getScore);
+    }
+
+    public CompletableFuture<ScoreResult> tryCalculateScore(String input) {
+        CompletableFuture<ScoreResult> future = new CompletableFuture<>();
+        if (closed) {
+            reject(future);
+        } else if (permits.tryAcquire()) {
+            enqueue(input, future);
+        } else if (overflow == Overflow.CALLER_RUNS) {
+            future.complete(service.tryCalculateScore(input));
+        } else if (overflow == Overflow.BLOCK) {
+            try {
+                permits.acquire();
+                if (closed) {
+                    permits.release();
+                    reject(future);
+                } else {
+                    enqueue(input, future);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(e);
+            }
+        } else {
+            reject(future);
+        }
+        return future;
+    }
+
+    private void enqueue(String input, CompletableFuture<ScoreResult> future) {
+        Request request = new Request(input, future, System.nanoTime());
+        //permit guarantees space in the queue
+        queue.add(request);
+        //service could be closed and drained after 'closed' was checked, then nobody else takes the request
+        if (closed && queue.remove(request)) {
+            score(Collections.singletonList(request));
+        }
+    }
+
+    private void reject(CompletableFuture<ScoreResult> future) {
+        rejected.increment();
+        future.completeExceptionally(new RejectedExecutionException(closed ? "Service is closed" : "Too many requests in flight"));
+    }
+
+    private void work() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        try {
+            while (!closed) {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - 1);
+                score(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void score(List<Request> batch) {
+        long now = System.nanoTime();
+        for (Request request : batch) {
+            waitLatency.record(now - request.enqueued);
+        }
+        batches.increment();
+        batched.add(batch.size());
+        for (Request request : batch) {
+            try {
+                request.future.complete(service.tryCalculateScore(request.input));
+            } catch (RuntimeException e) {
+                request.future.completeExceptionally(e);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getInFlight() {
+        return capacity - permits.availablePermits();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public double getAverageBatchSize() {
+        long batches = getBatches();
+        return batches == 0 ? 0 : (double) batched.sum() / batches;
+    }
+
+    /**
+     * Time from submitting request till worker takes it.
+     */
+    public LatencyHistogram.Snapshot getWaitLatency() {
+        return waitLatency.snapshot();
+    }
+
+    /**
+     * Stops accepting requests and waits, while workers score already accepted ones. Idle workers are blocked
+     * in the queue, so they are interrupted, busy ones finish their batch and stop on the next take.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        //requests, which were not taken by stopped workers
+        List<Request> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            score(rest);
+        }
+    }
+
+    private static final class Request {
+        private final String input;
+        private final CompletableFuture<ScoreResult> future;
+        private final long enqueued;
+
+        Request(String input, CompletableFuture<ScoreResult> future, long enqueued) {
+            this.input = input;
+            this.future = future;
+            this.enqueued = enqueued;
+        }
+    }
+}
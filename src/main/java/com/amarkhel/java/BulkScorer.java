@@ -0,0 +1,179 @@
+package com.amarkhel.java;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+
+/**
+ This class scores big files of newline-delimited games, using all available cores.
+ For each input line exactly one output line is written: score of the game, or negative code of the error(see 'ErrorCode'),
+ if the game is incorrect. Order of output lines is the same as order of input lines.
+
+ Algorithm:
+ 1) Split file to chunks of about 'chunkSize' bytes, each chunk ends at the end of the line.
+ 2) Memory-map each chunk and score it in 'pool'. Games are read directly from mapped bytes
+    and scored by 'FusedGameService', so no String is created per line.
+ 3) Results of each chunk are collected in a byte array and written to the output in the order of chunks.
+    Only limited count of chunks are processed at once, so memory consumption doesn't depend on file size.
+ */
+public final class BulkScorer {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private static final byte LINE_END = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int BOUNDARY_SEARCH_SIZE = 4096;
+
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+
+    public BulkScorer() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public BulkScorer(int chunkSize) {
+        this(chunkSize, ForkJoinPool.commonPool());
+    }
+
+    public BulkScorer(int chunkSize, ForkJoinPool pool) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size should be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+    }
+
+    /**
+     * Scores all games from 'input' file to 'output' file. Returns count of scored lines.
+     */
+    public long score(Path input, Path output) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(output)) {
+            return score(input, stream);
+        }
+    }
+
+    /**
+     * Scores all games from 'input' file to 'output' stream. Stream is flushed, but not closed. Returns count of scored lines.
+     */
+    public long score(Path input, OutputStream output) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int window = pool.getParallelism() * 2;
+            Deque<CompletableFuture<ChunkOutput>> pending = new ArrayDeque<>();
+            long lines = 0;
+            long start = 0;
+            while (start < size) {
+                long end = lineStart(channel, Math.min(size, start + chunkSize), size);
+                ByteBuffer chunk = channel.map(READ_ONLY, start, end - start);
+                pending.add(CompletableFuture.supplyAsync(() -> scoreChunk(chunk), pool));
+                if (pending.size() >= window) {
+                    lines += pending.poll().join().writeTo(output);
+                }
+                start = end;
+            }
+            while (!pending.isEmpty()) {
+                lines += pending.poll().join().writeTo(output);
+            }
+            output.flush();
+            return lines;
+        }
+    }
+
+    private long lineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SEARCH_SIZE);
+        long current = position - 1;
+        while (current < size) {
+            buffer.clear();
+            int read = channel.read(buffer, current);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == LINE_END) {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+        return size;
+    }
+
+    private ChunkOutput scoreChunk(ByteBuffer chunk) {
+        ChunkOutput output = new ChunkOutput(chunk.limit() / 4 + 16);
+        AsciiSequence game = new AsciiSequence();
+        int limit = chunk.limit();
+        int from = 0;
+        while (from < limit) {
+            int to = from;
+            while (to < limit && chunk.get(to) != LINE_END) {
+                to++;
+            }
+            int length = to - from;
+            if (length > 0 && chunk.get(to - 1) == CARRIAGE_RETURN) {
+                length--;
+            }
+            output.write(FusedGameService.instance.scoreOrError(game.wrap(chunk, from, length)));
+            from = to + 1;
+        }
+        return output;
+    }
+
+    static final class ChunkOutput {
+        private byte[] bytes;
+        private int size;
+        private int lines;
+
+        ChunkOutput(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void write(int value) {
+            if (bytes.length - size < 12) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            if (value < 0) {
+                bytes[size++] = '-';
+                value = -value;
+            }
+            int start = size;
+            do {
+                bytes[size++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            for (int i = start, j = size - 1; i < j; i++, j--) {
+                byte digit = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = digit;
+            }
+            bytes[size++] = LINE_END;
+            lines++;
+        }
+
+        int writeTo(OutputStream output) throws IOException {
+            output.write(bytes, 0, size);
+            return lines;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 1) {
+            new BulkScorer().score(Paths.get(args[0]), System.out);
+        } else if (args.length == 2) {
+            new BulkScorer().score(Paths.get(args[0]), Paths.get(args[1]));
+        } else {
+            System.err.println("Usage: BulkScorer <input file> [<output file>]");
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.amarkhel.java;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class memoizes results of wrapped GameService: both scores of correct games and validation errors of incorrect ones.
+ * Cache is split to SEGMENTS independent LRU maps, each guarded by its own lock, so concurrent callers rarely wait each other.
+ * Each segment keeps up to maxSize / SEGMENTS(rounded up) least recently used inputs and evicts the eldest one when it is full.
+ * Hits, misses and evictions are counted with LongAdder to size the cache.
+ * Only validation errors(ParseException) are memoized, other exceptions are thrown to the caller on each call.
+ */
+public final class CachedGameService {
+
+    static final int SEGMENTS = 16;
+
+    private final GameService service;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachedGameService(GameService service, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size should be positive");
+        }
+        this.service = service;
+        int segmentSize = (maxSize + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    public int calculateScore(String input) throws Exception {
+        if (input == null) {
+            return service.calculateScore(null);
+        }
+        Segment segment = segmentFor(input);
+        ScoreResult cached = segment.find(input);
+        if (cached != null) {
+            hits.increment();
+            return cached.getScore();
+        }
+        misses.increment();
+        try {
+            int score = service.calculateScore(input);
+            segment.store(input, ScoreResult.success(score));
+            return score;
+        } catch (ParseException e) {
+            segment.store(input, ScoreResult.failure(e.getMessage()));
+            throw e;
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public int getSize() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.count();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String input) {
+        int hash = input.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private final class Segment extends LinkedHashMap<String, ScoreResult> {
+        private final int maxSize;
+
+        Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        synchronized ScoreResult find(String input) {
+            return get(input);
+        }
+
+        synchronized void store(String input, ScoreResult result) {
+            put(input, result);
+        }
+
+        synchronized int count() {
+            return size();
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ScoreResult> eldest) {
+            if (size() > maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -2,8 +2,6 @@ package com.amarkhel.java;
 
 import com.amarkhel.java.model.Game;
 
-import java.util.List;
-
 /**
  This calculation algorithm implemented in classic imperative style(with mutability and side-effects).
  It makes it harder to reason about code, but more performant and as a bonus(questionable) it contains all logic
@@ -19,43 +17,42 @@ public final class ClassicCalculation implements Calculation {
 
     @Override
     public int score(Game game) {
-        List<Integer> rolls = game.getRolls();
         int score = 0;
         int index = 0;
         for (int i = 0; i < COUNT_FRAMES; i++) {
-            if (isStrike(rolls.get(index))) {
-                score += MAXIMUM_BALL_VALUE + nextTwoBallsForStrike(index, rolls);
+            if (isStrike(game.getRoll(index))) {
+                score += MAXIMUM_BALL_VALUE + nextTwoBallsForStrike(index, game);
                 index += 1;
             }
-            else if (isSpare(index, rolls)) {
-                score += MAXIMUM_BALL_VALUE + nextBallForSpare(rolls.get(index + 2));
+            else if (isSpare(index, game)) {
+                score += MAXIMUM_BALL_VALUE + nextBallForSpare(game.getRoll(index + 2));
                 index += 2;
             }
             else {
-                score += twoBallsInFrame(index, rolls);
+                score += twoBallsInFrame(index, game);
                 index += 2;
             }
         }
         return score;
     }
 
-    private int twoBallsInFrame(int index, List<Integer> rolls) {
-        return rolls.get(index) + rolls.get(index + 1);
+    private int twoBallsInFrame(int index, Game game) {
+        return game.getRoll(index) + game.getRoll(index + 1);
     }
 
     private int nextBallForSpare(int roll) {
         return roll;
     }
 
-    private int nextTwoBallsForStrike(int index, List<Integer> rolls) {
-        return rolls.get(index + 1) + rolls.get(index + 2);
+    private int nextTwoBallsForStrike(int index, Game game) {
+        return game.getRoll(index + 1) + game.getRoll(index + 2);
     }
 
     private boolean isStrike(int roll) {
         return roll == MAXIMUM_BALL_VALUE;
     }
 
-    private boolean isSpare(int index, List<Integer> rolls) {
-        return rolls.get(index) + rolls.get(index + 1) == MAXIMUM_BALL_VALUE;
+    private boolean isSpare(int index, Game game) {
+        return game.getRoll(index) + game.getRoll(index + 1) == MAXIMUM_BALL_VALUE;
     }
 }
\ No newline at end of file
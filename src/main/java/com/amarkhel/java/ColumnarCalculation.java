@@ -0,0 +1,97 @@
+package com.amarkhel.java;
+
+import static com.amarkhel.java.Calculation.COUNT_FRAMES;
+
+/**
+ This calculation scores many games at once from columnar 'GameColumns' storage.
+ Frame is scored without branches: if first + second ball give 10 or more pins(strike or spare),
+ the frame brings first + second + third ball(for strike second and third are next balls, for spare third is the next one),
+ otherwise it brings first + second. Strike is the only frame with 10 pins by the first ball, and it takes 1 ball, others take 2.
+ Reading next balls never goes outside of the game slots, because the first ball of the 10th frame is not later then slot 18
+ and unused slots are zeros.
+ Position of the next frame depends on the balls of the current one, so frames of one game can't be scored in parallel.
+ Therefore frame k is scored for LANES games together: their positions and scores are independent local variables,
+ so CPU overlaps loads and arithmetic of different games, and nothing is written to memory until games are scored.
+ Scores of incorrect games are negative codes of their errors.
+ */
+public final class ColumnarCalculation {
+
+    static final int LANES = 4;
+
+    private static final int STRIDE = GameColumns.STRIDE;
+    private static final int BONUS_SHIFT = 4;
+    //pins + 6 is 16 or more(bit 4 is set) only when pins is 10 or more
+    private static final int TEN_OFFSET = 6;
+
+    public int[] score(GameColumns games) {
+        int[] scores = new int[games.size()];
+        score(games, scores);
+        return scores;
+    }
+
+    public void score(GameColumns games, int[] scores) {
+        int size = games.size();
+        if (scores.length < size) {
+            throw new IllegalArgumentException("Scores array should be not shorter then count of games");
+        }
+        byte[] rolls = games.rolls;
+        int game = 0;
+        for (; game + LANES <= size; game += LANES) {
+            int p0 = game * STRIDE;
+            int p1 = p0 + STRIDE;
+            int p2 = p1 + STRIDE;
+            int p3 = p2 + STRIDE;
+            int s0 = 0;
+            int s1 = 0;
+            int s2 = 0;
+            int s3 = 0;
+            for (int frame = 0; frame < COUNT_FRAMES; frame++) {
+                int f0 = rolls[p0];
+                int f1 = rolls[p1];
+                int f2 = rolls[p2];
+                int f3 = rolls[p3];
+                int n0 = rolls[p0 + 1];
+                int n1 = rolls[p1 + 1];
+                int n2 = rolls[p2 + 1];
+                int n3 = rolls[p3 + 1];
+                s0 += frameScore(f0, n0, rolls[p0 + 2]);
+                s1 += frameScore(f1, n1, rolls[p1 + 2]);
+                s2 += frameScore(f2, n2, rolls[p2 + 2]);
+                s3 += frameScore(f3, n3, rolls[p3 + 2]);
+                p0 += frameBalls(f0);
+                p1 += frameBalls(f1);
+                p2 += frameBalls(f2);
+                p3 += frameBalls(f3);
+            }
+            scores[game] = s0;
+            scores[game + 1] = s1;
+            scores[game + 2] = s2;
+            scores[game + 3] = s3;
+        }
+        for (; game < size; game++) {
+            int position = game * STRIDE;
+            int score = 0;
+            for (int frame = 0; frame < COUNT_FRAMES; frame++) {
+                int first = rolls[position];
+                score += frameScore(first, rolls[position + 1], rolls[position + 2]);
+                position += frameBalls(first);
+            }
+            scores[game] = score;
+        }
+        if (games.failures > 0) {
+            for (int i = 0; i < size; i++) {
+                if (games.errors[i] != 0) {
+                    scores[i] = -games.errors[i];
+                }
+            }
+        }
+    }
+
+    private static int frameScore(int first, int second, int third) {
+        return first + second + (third & -((first + second + TEN_OFFSET) >>> BONUS_SHIFT));
+    }
+
+    private static int frameBalls(int first) {
+        return 2 - ((first + TEN_OFFSET) >>> BONUS_SHIFT);
+    }
+}
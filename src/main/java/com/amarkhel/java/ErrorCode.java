@@ -0,0 +1,71 @@
+package com.amarkhel.java;
+
+import com.amarkhel.java.model.Ball;
+
+import static com.amarkhel.java.validator.Validator.*;
+
+/**
+ * Stable numeric codes of all errors, that can be reported by parser and validators.
+ * Each code keeps the original error message, so it can be converted in both directions,
+ * and preallocated exception, so the error can be thrown without allocation.
+ */
+public enum ErrorCode {
+    WRONG_FORMAT(1, Parser.WRONG_FORMAT_ERROR),
+    SPARE_FRAME_BONUS(2, Ball.SPARE_FRAME_BONUS_ERROR),
+    COUNT_FRAME(3, COUNT_FRAME_ERROR),
+    BONUS_FRAME_SHOULD_EXIST(4, BONUS_FRAME_SHOULD_EXIST_ERROR),
+    BONUS_FRAME(5, BONUS_FRAME_INCORRECT),
+    BALL_COUNT_PINS(6, BALL_COUNT_PINS_ERROR),
+    PIN_SUM_FRAME(7, PIN_SUM_FRAME_ERROR),
+    STRIKE_FRAME(8, STRIKE_FRAME_INCORRECT),
+    SPARE_FRAME(9, SPARE_FRAME_INCORRECT),
+    FRAME(10, FRAME_INCORRECT);
+
+    private final int code;
+    private final String message;
+    private final ParseException exception;
+
+    ErrorCode(int code, String message) {
+        this.code = code;
+        this.message = message;
+        this.exception = new ParseException(message);
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public ParseException exception() {
+        return exception;
+    }
+
+    public static ErrorCode of(String message) {
+        ErrorCode error = find(message);
+        if (error == null) {
+            throw new IllegalArgumentException("Unknown error: " + message);
+        }
+        return error;
+    }
+
+    public static ErrorCode ofCode(int code) {
+        return CODES[code - 1];
+    }
+
+    /**
+     * Returns error with given message, or null if message is unknown(for example, it is reported by custom validator).
+     */
+    public static ErrorCode find(String message) {
+        for (ErrorCode error : CODES) {
+            if (error.message.equals(message)) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    private static final ErrorCode[] CODES = values();
+}
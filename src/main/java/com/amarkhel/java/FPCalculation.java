@@ -3,54 +3,106 @@ package com.amarkhel.java;
 import com.amarkhel.java.model.Ball;
 import com.amarkhel.java.model.Game;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.function.BiFunction;
+import java.util.stream.IntStream;
 /**
  This calculation algorithm implemented in Functional Programming style(all is immutable and have no side-effects).
- At the beginning it create 'state' object, that contains list of non-visited balls(initialised as all balls from game)
- and current total(initialised as 0).
- Then it traverse list of all balls from the game and apply function 'calcBall' to the each element.
- Then it add calculated value to current total and drop first element from the list.
- Then it pass those intermediate total and dropped list to the next iteration.
- When all balls are visited, it extract 'total' field from the 'state' object and return it as a final result.
+ At the beginning it create immutable 'rolls' view, that keeps pins and flags of all balls from the game in primitive arrays.
+ Then it traverse indexes of all balls and apply function 'calcBall' to the each of them.
+ Each ball is addressed by its index, so next balls(needed for strike and spare bonuses) are just next indexes
+ and nothing is copied or removed when iteration moves forward - each ball is processed in constant time.
+ When all balls are visited, calculated values are summed and returned as a final result.
  All business logic related to score calculation is split to the list of separate small independent rules, each represent one business case.
  It makes logic very flexible, because each rule can be added, deleted or changed separately.
  However, comparing to imperative implementation it makes harder to fully grasp all algorithm, because it spread across the rules.
- Each rule have a form Ball => Int, so 'calcBall' function applies it one by one to the current ball and then return it sum.
+ Each rule have a form (Rolls, index) => Int, so 'calcBall' function applies it one by one to the current ball and then return it sum.
+ Rules are primitive functions(see 'Rule'), kept in array and applied in plain loop, so nothing is boxed
+ or allocated per ball.
  */
 public final class FPCalculation implements Calculation {
 
-    private final List<BiFunction<List<Ball>, Ball, Integer>> rules = new ArrayList<BiFunction<List<Ball>, Ball, Integer>>() {{
-        add(strikeBonusRule());
-        add(spareBonusRule());
-        add(regularBallRule());
-    }};
+    private final Rule[] rules = {
+        strikeBonusRule(),
+        spareBonusRule(),
+        regularBallRule()
+    };
 
     @Override
     public int score(Game game) {
-        /*
-           Unfortunately there is no good equivalent of Scala's foldLeft, so intermediate state should be created implicitly.
-           However, this state never escapes method boundary, so it can be counted as effectively-immutable implementation.
-         */
-        List<Ball> state = new ArrayList<>(game.getBalls());
-        return game.getBalls().stream().mapToInt(ball -> calcBall(state, ball)).sum();
+        Rolls rolls = new Rolls(game.getBalls());
+        return IntStream.range(0, rolls.size()).map(index -> calcBall(rolls, index)).sum();
     }
 
-    private int calcBall(List<Ball> state, Ball current) {
-        state.remove(current);
-        return rules.stream().mapToInt(r -> r.apply(state, current)).sum();
+    private int calcBall(Rolls rolls, int index) {
+        int points = 0;
+        for (Rule rule : rules) {
+            points += rule.apply(rolls, index);
+        }
+        return points;
     }
 
-    private BiFunction<List<Ball>, Ball, Integer> strikeBonusRule() {
-        return (state, ball) -> ball.isStrike() ? state.get(0).getPins() + state.get(1).getPins() : 0;
+    private Rule strikeBonusRule() {
+        return (rolls, index) -> rolls.isStrike(index) ? rolls.getPins(index + 1) + rolls.getPins(index + 2) : 0;
     }
 
-    private BiFunction<List<Ball>, Ball, Integer> spareBonusRule() {
-        return (state, ball) -> ball.isSpare() ? state.get(0).getPins() : 0;
+    private Rule spareBonusRule() {
+        return (rolls, index) -> rolls.isSpare(index) ? rolls.getPins(index + 1) : 0;
     }
 
-    private BiFunction<List<Ball>, Ball, Integer> regularBallRule() {
-        return (state, ball) -> ball.isBonus() ? 0 : ball.getPins();
+    private Rule regularBallRule() {
+        return (rolls, index) -> rolls.isBonus(index) ? 0 : rolls.getPins(index);
     }
-}
\ No newline at end of file
+
+    /**
+     * Rule of score calculation: points of the ball with given index, (Rolls, index) => Int on primitives.
+     */
+    @FunctionalInterface
+    private interface Rule {
+        int apply(Rolls rolls, int index);
+    }
+
+    /**
+     * Immutable view of all balls of the game, addressed by index.
+     */
+    public static final class Rolls {
+        private final int[] pins;
+        private final boolean[] strikes;
+        private final boolean[] spares;
+        private final boolean[] bonuses;
+
+        Rolls(List<Ball> balls) {
+            int size = balls.size();
+            pins = new int[size];
+            strikes = new boolean[size];
+            spares = new boolean[size];
+            bonuses = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                Ball ball = balls.get(i);
+                pins[i] = ball.getPins();
+                strikes[i] = ball.isStrike();
+                spares[i] = ball.isSpare();
+                bonuses[i] = ball.isBonus();
+            }
+        }
+
+        public int size() {
+            return pins.length;
+        }
+
+        public int getPins(int index) {
+            return pins[index];
+        }
+
+        public boolean isStrike(int index) {
+            return strikes[index];
+        }
+
+        public boolean isSpare(int index) {
+            return spares[index];
+        }
+
+        public boolean isBonus(int index) {
+            return bonuses[index];
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.amarkhel.java;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static com.amarkhel.java.Calculation.*;
+
+/**
+ This entry-point fuses parsing, validation and score calculation into one pass over the input.
+ It enforces the same rules, with the same priority and the same error messages, as 'Parser' combined with 'FullValidator',
+ but it never builds Frame, Ball or Game objects, so no memory is allocated when input is correct.
+
+ Algorithm:
+ 1) Walk the main part of the input char by char, keeping state of the current frame in a few local variables
+    (count of balls, sum of pins, first ball, strike/spare flags).
+ 2) When frame is finished, evaluate all per-frame rules at once and remember failed ones as bits in 'failures' mask.
+ 3) Score is accumulated at the same time: each ball adds its pins multiplied by count of pending strike/spare bonuses.
+ 4) Walk the bonus part, where balls only pay pending bonuses.
+ 5) Check game-level rules(count of frames, bonus frame), then report first per-frame rule from 'failures' mask,
+    according to the order of rules in 'FullValidator'.
+ Internally error is reported as negative code of ErrorCode instead of score, so 'tryScore' and bulk scoring
+ never throw, and 'score' throws preallocated exception.
+ Game can be scored directly from ASCII bytes of byte array or ByteBuffer(heap or direct), without copying or decoding.
+ Methods with offset don't move position of the buffer. Methods with only length read game from the position
+ and move position after it, whether game is correct or not, so games packed back to back can be scored one by one.
+ */
+public final class FusedGameService {
+
+    public static final FusedGameService instance = new FusedGameService();
+
+    private static final char MISS = '-';
+    private static final char STRIKE = 'X';
+    private static final char SPARE = '/';
+    private static final char FRAME_DELIMITER = '|';
+
+    private static final int BALL_PINS_FAILURE = 1;
+    private static final int FRAME_SUM_FAILURE = 1 << 1;
+    private static final int STRIKE_FRAME_FAILURE = 1 << 2;
+    private static final int SPARE_FRAME_FAILURE = 1 << 3;
+    private static final int USUAL_FRAME_FAILURE = 1 << 4;
+    private static final ErrorCode[] FRAME_ERRORS = {
+        ErrorCode.BALL_COUNT_PINS, ErrorCode.PIN_SUM_FRAME, ErrorCode.STRIKE_FRAME, ErrorCode.SPARE_FRAME, ErrorCode.FRAME
+    };
+    private static final int WRONG_SYMBOL = Integer.MIN_VALUE;
+    private static final int BONUS_SPARE = Integer.MIN_VALUE + 1;
+
+    private FusedGameService() {
+    }
+
+    public int calculateScore(String input) {
+        return score(input);
+    }
+
+    public int score(CharSequence input) {
+        return checked(scoreOrError(input));
+    }
+
+    public ScoreResult tryScore(CharSequence input) {
+        return result(scoreOrError(input));
+    }
+
+    public int score(byte[] bytes, int offset, int length) {
+        return checked(scoreOrError(bytes, offset, length));
+    }
+
+    public ScoreResult tryScore(byte[] bytes, int offset, int length) {
+        return result(scoreOrError(bytes, offset, length));
+    }
+
+    public int score(ByteBuffer buffer, int offset, int length) {
+        return checked(scoreOrError(buffer, offset, length));
+    }
+
+    public ScoreResult tryScore(ByteBuffer buffer, int offset, int length) {
+        return result(scoreOrError(buffer, offset, length));
+    }
+
+    /**
+     * Scores 'length' bytes from position of the buffer and moves position after them.
+     * If less bytes remain, BufferUnderflowException is thrown and position is not changed.
+     */
+    public int score(ByteBuffer buffer, int length) {
+        return checked(scoreNext(buffer, length));
+    }
+
+    /**
+     * Scores 'length' bytes from position of the buffer and moves position after them.
+     * If less bytes remain, BufferUnderflowException is thrown and position is not changed.
+     */
+    public ScoreResult tryScore(ByteBuffer buffer, int length) {
+        return result(scoreNext(buffer, length));
+    }
+
+    /**
+     * Returns score of game in bytes[offset, offset + length) or negative code of ErrorCode for incorrect one.
+     */
+    int scoreOrError(byte[] bytes, int offset, int length) {
+        checkRange(bytes.length, offset, length);
+        return scoreOrError(new AsciiSequence().wrap(bytes, offset, length));
+    }
+
+    /**
+     * Returns score of game in bytes[offset, offset + length) of the buffer or negative code of ErrorCode for incorrect one.
+     */
+    int scoreOrError(ByteBuffer buffer, int offset, int length) {
+        checkRange(buffer.limit(), offset, length);
+        return scoreOrError(new AsciiSequence().wrap(buffer, offset, length));
+    }
+
+    private int scoreNext(ByteBuffer buffer, int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length should not be negative");
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        int position = buffer.position();
+        int score = scoreOrError(new AsciiSequence().wrap(buffer, position, length));
+        buffer.position(position + length);
+        return score;
+    }
+
+    private static void checkRange(int size, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > size - length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") is out of bounds for length " + size);
+        }
+    }
+
+    private static int checked(int score) {
+        if (score < 0) {
+            throw ErrorCode.ofCode(-score).exception();
+        }
+        return score;
+    }
+
+    private static ScoreResult result(int score) {
+        return score < 0 ? ScoreResult.failure(ErrorCode.ofCode(-score)) : ScoreResult.success(score);
+    }
+
+    /**
+     * Returns score of correct game or negative code of ErrorCode for incorrect one.
+     */
+    int scoreOrError(CharSequence input) {
+        if (input == null || input.length() == 0) {
+            return error(ErrorCode.WRONG_FORMAT);
+        }
+        int length = input.length();
+        int index = 0;
+        int score = 0;
+        int nextBonus = 0;
+        int secondBonus = 0;
+        int frames = 0;
+        int failures = 0;
+        boolean lastStrike = false;
+        boolean lastSpare = false;
+
+        int balls = 0;
+        int sum = 0;
+        int first = 0;
+        boolean strike = false;
+        boolean spare = false;
+        boolean wrongPins = false;
+        while (true) {
+            if (index == length) {
+                return error(ErrorCode.WRONG_FORMAT);
+            }
+            char character = input.charAt(index++);
+            if (character == FRAME_DELIMITER) {
+                failures |= frameFailures(balls, sum, first, strike, spare, wrongPins);
+                if (frames == LAST_NOTBONUS_FRAME_INDEX) {
+                    lastStrike = strike;
+                    lastSpare = spare;
+                }
+                frames++;
+                balls = 0;
+                sum = 0;
+                first = 0;
+                strike = false;
+                spare = false;
+                wrongPins = false;
+                if (index < length && input.charAt(index) == FRAME_DELIMITER) {
+                    index++;
+                    break;
+                }
+                continue;
+            }
+            int pins = mainPins(character, sum);
+            if (pins == WRONG_SYMBOL) {
+                return error(ErrorCode.WRONG_FORMAT);
+            }
+            if (balls == 0) {
+                first = pins;
+            }
+            balls++;
+            sum += pins;
+            wrongPins |= pins < MINIMUM_BALL_VALUE || pins > MAXIMUM_BALL_VALUE;
+            score += pins * (1 + nextBonus);
+            nextBonus = secondBonus;
+            secondBonus = 0;
+            if (character == STRIKE) {
+                strike = true;
+                nextBonus++;
+                secondBonus++;
+            } else if (character == SPARE) {
+                spare = true;
+                nextBonus++;
+            }
+        }
+        boolean emptyMain = index == 2;
+
+        int bonusBalls = 0;
+        boolean delimited = false;
+        while (index < length) {
+            char character = input.charAt(index++);
+            if (character == FRAME_DELIMITER) {
+                if (index < length && input.charAt(index) == FRAME_DELIMITER) {
+                    index++;
+                    delimited = true;
+                    break;
+                }
+                return error(ErrorCode.WRONG_FORMAT);
+            }
+            int pins = bonusPins(character);
+            if (pins == WRONG_SYMBOL) {
+                return error(ErrorCode.WRONG_FORMAT);
+            }
+            if (pins == BONUS_SPARE) {
+                return error(ErrorCode.SPARE_FRAME_BONUS);
+            }
+            bonusBalls++;
+            score += pins * nextBonus;
+            nextBonus = secondBonus;
+            secondBonus = 0;
+        }
+        if (bonusBalls == 0) {
+            /*
+               Bonus part is empty, but if something follows next '||', String.split keeps it as an empty frame,
+               which is not a bonus one. When nothing at all is left for String.split, it fails on the main part.
+             */
+            if (delimited && !onlyDelimiters(input, index)) {
+                failures |= frameFailures(0, 0, 0, false, false, false);
+                if (frames == LAST_NOTBONUS_FRAME_INDEX) {
+                    lastStrike = false;
+                    lastSpare = false;
+                }
+                frames++;
+            } else if (emptyMain) {
+                return error(ErrorCode.WRONG_FORMAT);
+            }
+        }
+
+        if (frames != COUNT_FRAMES) {
+            return error(ErrorCode.COUNT_FRAME);
+        }
+        boolean bonus = bonusBalls > 0;
+        if ((lastStrike || lastSpare) && !bonus) {
+            return error(ErrorCode.BONUS_FRAME_SHOULD_EXIST);
+        }
+        if (bonus && !(lastSpare && bonusBalls == MAX_BALLS_COUNT - 1 || lastStrike && bonusBalls == MAX_BALLS_COUNT)) {
+            return error(ErrorCode.BONUS_FRAME);
+        }
+        if (failures != 0) {
+            return error(FRAME_ERRORS[Integer.numberOfTrailingZeros(failures)]);
+        }
+        return score;
+    }
+
+    private static int error(ErrorCode error) {
+        return -error.getCode();
+    }
+
+    private static int mainPins(char character, int sum) {
+        switch (character) {
+            case MISS:
+                return MINIMUM_BALL_VALUE;
+            case STRIKE:
+                return MAXIMUM_BALL_VALUE;
+            case SPARE:
+                return FRAME_BALLS_MAX_SUM - sum;
+            case '1' : case '2' : case '3' : case '4' : case '5' : case '6' : case '7' : case '8' : case '9':
+                return character - '0';
+            default:
+                return WRONG_SYMBOL;
+        }
+    }
+
+    private static int bonusPins(char character) {
+        switch (character) {
+            case MISS:
+                return MINIMUM_BALL_VALUE;
+            case STRIKE:
+                return MAXIMUM_BALL_VALUE;
+            case SPARE:
+                return BONUS_SPARE;
+            case '1' : case '2' : case '3' : case '4' : case '5' : case '6' : case '7' : case '8' : case '9':
+                return character - '0';
+            default:
+                return WRONG_SYMBOL;
+        }
+    }
+
+    private static int frameFailures(int balls, int sum, int first, boolean strike, boolean spare, boolean wrongPins) {
+        int failures = 0;
+        if (wrongPins) {
+            failures |= BALL_PINS_FAILURE;
+        }
+        if (sum < MINIMUM_BALL_VALUE || sum > FRAME_BALLS_MAX_SUM) {
+            failures |= FRAME_SUM_FAILURE;
+        }
+        if (strike && !(balls == MAX_BALLS_COUNT - 1 && first == MAXIMUM_BALL_VALUE)) {
+            failures |= STRIKE_FRAME_FAILURE;
+        }
+        if (spare && !(balls == MAX_BALLS_COUNT && sum == FRAME_BALLS_MAX_SUM && first < MAXIMUM_BALL_VALUE)) {
+            failures |= SPARE_FRAME_FAILURE;
+        }
+        if (!strike && !spare && !(balls == MAX_BALLS_COUNT && sum < FRAME_BALLS_MAX_SUM)) {
+            failures |= USUAL_FRAME_FAILURE;
+        }
+        return failures;
+    }
+
+    private static boolean onlyDelimiters(CharSequence input, int from) {
+        if ((input.length() - from) % 2 != 0) {
+            return false;
+        }
+        for (int i = from; i < input.length(); i++) {
+            if (input.charAt(i) != FRAME_DELIMITER) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,142 @@
+package com.amarkhel.java;
+
+import com.amarkhel.java.model.Game;
+
+import java.util.Arrays;
+
+import static com.amarkhel.java.Calculation.*;
+
+/**
+ Columnar(struct of arrays) storage of many correct games for batch scoring by 'ColumnarCalculation'.
+ Pins of all balls of game i are stored in 'rolls' from index i * STRIDE, unused slots up to the next game are zeros,
+ and count of balls of game i is stored in 'counts[i]'.
+ Games are added in text format(validated by 'FusedGameService', so they follow the same rules as 'FullValidator')
+ or as Game objects. Incorrect game takes its place too: it has no balls and its error code is stored in 'errors'.
+ Storage has fixed capacity and can be reused after 'clear'.
+ */
+public final class GameColumns {
+
+    public static final int STRIDE = PackedGame.MAX_BALLS;
+
+    private static final char MISS = '-';
+    private static final char STRIKE = 'X';
+    private static final char SPARE = '/';
+    private static final char FRAME_DELIMITER = '|';
+
+    final byte[] rolls;
+    final byte[] counts;
+    final byte[] errors;
+    int size;
+    int failures;
+
+    public GameColumns(int capacity) {
+        rolls = new byte[capacity * STRIDE];
+        counts = new byte[capacity];
+        errors = new byte[capacity];
+    }
+
+    public static GameColumns parse(CharSequence[] inputs) {
+        GameColumns columns = new GameColumns(inputs.length);
+        for (CharSequence input : inputs) {
+            columns.add(input);
+        }
+        return columns;
+    }
+
+    /**
+     * Adds game in text format and returns its index. Incorrect game is added without balls, with its error code.
+     */
+    public int add(CharSequence input) {
+        int game = reserve();
+        int score = FusedGameService.instance.scoreOrError(input);
+        if (score < 0) {
+            errors[game] = (byte) -score;
+            failures++;
+            return game;
+        }
+        int base = game * STRIDE;
+        int count = 0;
+        int previous = 0;
+        for (int i = 0; i < input.length(); i++) {
+            int pins;
+            switch (input.charAt(i)) {
+                case FRAME_DELIMITER:
+                    previous = 0;
+                    continue;
+                case MISS:
+                    pins = MINIMUM_BALL_VALUE; break;
+                case STRIKE:
+                    pins = MAXIMUM_BALL_VALUE; break;
+                case SPARE:
+                    pins = FRAME_BALLS_MAX_SUM - previous; break;
+                default:
+                    pins = input.charAt(i) - '0';
+            }
+            rolls[base + count++] = (byte) pins;
+            previous = pins;
+        }
+        counts[game] = (byte) count;
+        return game;
+    }
+
+    /**
+     * Adds correct game and returns its index.
+     */
+    public int add(Game game) {
+        int count = game.getRollsCount();
+        if (count > STRIDE) {
+            throw new IllegalArgumentException("Game can't contain more then " + STRIDE + " balls");
+        }
+        int index = reserve();
+        for (int i = 0; i < count; i++) {
+            rolls[index * STRIDE + i] = (byte) game.getRoll(i);
+        }
+        counts[index] = (byte) count;
+        return index;
+    }
+
+    private int reserve() {
+        if (size == counts.length) {
+            throw new IllegalStateException("Capacity " + counts.length + " is exhausted");
+        }
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return counts.length;
+    }
+
+    /**
+     * Count of incorrect games.
+     */
+    public int getFailures() {
+        return failures;
+    }
+
+    public int getCount(int game) {
+        return counts[game];
+    }
+
+    public int getPins(int game, int ball) {
+        return rolls[game * STRIDE + ball];
+    }
+
+    /**
+     * Error of incorrect game, or null if game is correct.
+     */
+    public ErrorCode getError(int game) {
+        return errors[game] == 0 ? null : ErrorCode.ofCode(errors[game]);
+    }
+
+    public void clear() {
+        Arrays.fill(rolls, 0, size * STRIDE, (byte) 0);
+        Arrays.fill(counts, 0, size, (byte) 0);
+        Arrays.fill(errors, 0, size, (byte) 0);
+        size = 0;
+        failures = 0;
+    }
+}
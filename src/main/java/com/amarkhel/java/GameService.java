@@ -1,9 +1,18 @@
 package com.amarkhel.java;
 
+import com.amarkhel.java.metrics.ServiceMetrics;
+import com.amarkhel.java.model.Frame;
+import com.amarkhel.java.model.Game;
 import com.amarkhel.java.validator.FullValidator;
 import com.amarkhel.java.validator.NoOpValidator;
+import com.amarkhel.java.validator.SinglePassValidator;
 import com.amarkhel.java.validator.Validator;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 /**
  * This class playing role as entry-point of application.
  * It takes validator and calculation objects as parameters, and use it for input validation and score calculation accordingly.
@@ -12,6 +21,15 @@ import com.amarkhel.java.validator.Validator;
  * 2) fpNoValidator instance - use FP calculation algorithm and no-op validator
  * 3) classic instance - use classic imperative calculation algorithm and rule-based validator
  * 4) classicNoValidator instance - use classic imperative calculation algorithm and no-op validator
+ * 5) classicSinglePassValidator instance - use classic imperative calculation algorithm and single-pass rule-based validator
+ * Services of other game formats are built from their RuleProfile.
+ * Batches of games can be scored at once. Batches greater then BATCH_THRESHOLD are split in halves recursively
+ * and scored in parallel in common ForkJoinPool, smaller ones are scored in the calling thread.
+ * 'tryCalculateScore' reports incorrect input as ScoreResult instead of exception, so high rate of incorrect inputs
+ * doesn't cost creation and unwinding of exceptions. Batches are scored through it too.
+ * Metrics are opt-in: 'withMetrics' returns instrumented copy of the service, which records calls, failures by error
+ * and latencies of parse, validate and calculate stages. Pre-defined instances are not instrumented and only check
+ * that metrics are absent.
  */
 public final class GameService {
 
@@ -20,16 +38,177 @@ public final class GameService {
     public static final GameService classicNoValidator = new GameService(new NoOpValidator(), new ClassicCalculation());
     public static final GameService fpNoValidator = new GameService(new NoOpValidator(), new FPCalculation());
     public static final GameService fp = new GameService(new FullValidator(), new FPCalculation());
+    public static final GameService classicSinglePassValidator = new GameService(new SinglePassValidator(), new ClassicCalculation());
+
+    static final int BATCH_THRESHOLD = 1024;
 
     private final Calculation calculation;
     private final Parser parser;
+    private final ServiceMetrics metrics;
 
     private GameService(Validator validator, Calculation calculation){
+        this(new Parser(validator), calculation, null);
+    }
+
+    private GameService(Parser parser, Calculation calculation, ServiceMetrics metrics){
         this.calculation = calculation;
-        parser = new Parser(validator);
+        this.parser = parser;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Service of custom parser and calculation, for example compiled from RuleProfile.
+     */
+    static GameService of(Parser parser, Calculation calculation) {
+        return new GameService(parser, calculation, null);
+    }
+
+    /**
+     * Returns copy of this service, which records its metrics. Metrics are registered in JMX with given name.
+     */
+    public GameService withMetrics(String name) {
+        ServiceMetrics metrics = new ServiceMetrics(name);
+        metrics.register();
+        return new GameService(parser, calculation, metrics);
+    }
+
+    /**
+     * Metrics of this service, or null if it is not instrumented.
+     */
+    public ServiceMetrics getMetrics() {
+        return metrics;
     }
 
     public int calculateScore(String input) throws Exception {
+        if (metrics != null) {
+            Parser.Result parsed = measuredParse(input);
+            if (parsed.getGame() == null) {
+                throw parsed.exception();
+            }
+            return measuredCalculation(parsed.getGame());
+        }
         return calculation.score(parser.parse(input));
     }
-}
\ No newline at end of file
+
+    /**
+     * Calculates score without throwing exceptions: error of incorrect input is returned as result.
+     * Exception of calculation(possible only for not validated games) is returned as result too.
+     */
+    public ScoreResult tryCalculateScore(String input) {
+        Parser.Result parsed = metrics != null ? measuredParse(input) : parser.tryParse(input);
+        if (parsed.getGame() == null) {
+            return parsed.getError() != null ? ScoreResult.failure(parsed.getError()) : ScoreResult.failure(parsed.getMessage());
+        }
+        try {
+            return ScoreResult.success(metrics != null ? measuredCalculation(parsed.getGame()) : calculation.score(parsed.getGame()));
+        } catch (RuntimeException e) {
+            return ScoreResult.failure(e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private Parser.Result measuredParse(String input) {
+        metrics.recordCall();
+        long start = System.nanoTime();
+        List<Frame> frames = new ArrayList<>();
+        ErrorCode error = parser.parseFrames(input, frames);
+        long parsed = System.nanoTime();
+        metrics.recordParse(parsed - start);
+        if (error != null) {
+            metrics.recordFailure(error);
+            return Parser.Result.failure(error);
+        }
+        Parser.Result result = parser.validate(frames);
+        metrics.recordValidate(System.nanoTime() - parsed);
+        if (result.getGame() == null) {
+            metrics.recordFailure(result.getError());
+        }
+        return result;
+    }
+
+    private int measuredCalculation(Game game) {
+        long start = System.nanoTime();
+        try {
+            return calculation.score(game);
+        } catch (RuntimeException e) {
+            metrics.recordFailure(null);
+            throw e;
+        } finally {
+            metrics.recordCalculate(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Calculates scores of all inputs. Exception with error of the first incorrect input is thrown, if there is one.
+     */
+    public int[] calculateScores(String[] inputs) {
+        int[] scores = new int[inputs.length];
+        String[] errors = new String[inputs.length];
+        if (calculateScores(inputs, scores, errors) > 0) {
+            for (String error : errors) {
+                if (error != null) {
+                    throw new ParseException(error);
+                }
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Calculates scores of all inputs into 'scores' array. When input is incorrect, its error is written to 'errors' array
+     * at the same index(and score is 0), otherwise 'errors' array contains null at this index.
+     * Returns count of incorrect inputs.
+     */
+    public int calculateScores(String[] inputs, int[] scores, String[] errors) {
+        if (scores.length < inputs.length || errors.length < inputs.length) {
+            throw new IllegalArgumentException("Scores and errors arrays should be not shorter then inputs");
+        }
+        if (inputs.length <= BATCH_THRESHOLD) {
+            return calculateRange(inputs, scores, errors, 0, inputs.length);
+        }
+        return ForkJoinPool.commonPool().invoke(new BatchTask(inputs, scores, errors, 0, inputs.length));
+    }
+
+    private int calculateRange(String[] inputs, int[] scores, String[] errors, int from, int to) {
+        int failed = 0;
+        for (int i = from; i < to; i++) {
+            ScoreResult result = tryCalculateScore(inputs[i]);
+            if (result.isSuccess()) {
+                scores[i] = result.getScore();
+                errors[i] = null;
+            } else {
+                scores[i] = 0;
+                errors[i] = result.getMessage();
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    private final class BatchTask extends RecursiveTask<Integer> {
+        private final String[] inputs;
+        private final int[] scores;
+        private final String[] errors;
+        private final int from;
+        private final int to;
+
+        BatchTask(String[] inputs, int[] scores, String[] errors, int from, int to) {
+            this.inputs = inputs;
+            this.scores = scores;
+            this.errors = errors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= BATCH_THRESHOLD) {
+                return calculateRange(inputs, scores, errors, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            BatchTask left = new BatchTask(inputs, scores, errors, from, middle);
+            left.fork();
+            int right = new BatchTask(inputs, scores, errors, middle, to).compute();
+            return left.join() + right;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.amarkhel.java;
+
+import com.amarkhel.java.model.Ball;
+import com.amarkhel.java.model.Frame;
+
+import java.util.Arrays;
+
+import static com.amarkhel.java.Calculation.*;
+
+/**
+ This scorer accepts game ball by ball and keeps score up to date after each ball, so game in progress can be displayed.
+ Ball can be passed as count of pins or as symbol of input format('X', '/', '-', digit).
+ Ball, that would make the game incorrect, is rejected with preallocated ParseException(see 'ErrorCode'), containing the same error message as
+ 'FullValidator' reports for such frame, and the state of the scorer is not changed.
+
+ State is kept in fixed-size fields and arrays, allocated once per scorer:
+ each frame remembers its points and count of next balls, which should be added to it as strike/spare bonus.
+ New ball can pay bonus only to 2 previous frames, so each ball is processed in constant time.
+ The scorer is not thread-safe, each lane should have its own instance. It can be reused for the next game after 'reset'.
+ */
+public final class IncrementalScorer {
+
+    private static final char MISS = '-';
+    private static final char STRIKE = 'X';
+    private static final char SPARE = '/';
+
+    private final int[] frameScores = new int[COUNT_FRAMES];
+    private final int[] bonusesOwed = new int[COUNT_FRAMES];
+    private int frame;
+    private int firstPins;
+    private boolean secondBall;
+    private int bonusBallsLeft;
+    private int scoredFrames;
+    private int score;
+    private boolean complete;
+
+    /**
+     * Adds ball, represented by symbol of input format.
+     */
+    public void roll(char symbol) {
+        switch (symbol) {
+            case MISS:
+                roll(MINIMUM_BALL_VALUE);
+                break;
+            case STRIKE:
+                //after knocked down pins, sum of the frame is checked first, like FullValidator does
+                if (!isBonus() && secondBall && firstPins == MINIMUM_BALL_VALUE) {
+                    throw ErrorCode.STRIKE_FRAME.exception();
+                }
+                roll(MAXIMUM_BALL_VALUE);
+                break;
+            case SPARE:
+                if (isBonus()) {
+                    throw ErrorCode.SPARE_FRAME_BONUS.exception();
+                }
+                if (!secondBall) {
+                    throw ErrorCode.SPARE_FRAME.exception();
+                }
+                roll(FRAME_BALLS_MAX_SUM - firstPins);
+                break;
+            case '1' : case '2' : case '3' : case '4' : case '5' : case '6' : case '7' : case '8' : case '9':
+                if (!isBonus() && secondBall && firstPins + symbol - '0' == FRAME_BALLS_MAX_SUM) {
+                    throw ErrorCode.FRAME.exception();
+                }
+                roll(symbol - '0');
+                break;
+            default:
+                throw ErrorCode.WRONG_FORMAT.exception();
+        }
+    }
+
+    /**
+     * Adds ball, represented by count of knocked down pins. All pins knocked down by the first ball of the frame is a strike,
+     * by the second one is a spare.
+     */
+    public void roll(int pins) {
+        if (pins < MINIMUM_BALL_VALUE || pins > MAXIMUM_BALL_VALUE) {
+            throw ErrorCode.BALL_COUNT_PINS.exception();
+        }
+        if (complete) {
+            throw ErrorCode.BONUS_FRAME.exception();
+        }
+        if (secondBall && firstPins + pins > FRAME_BALLS_MAX_SUM) {
+            throw ErrorCode.PIN_SUM_FRAME.exception();
+        }
+        payBonuses(pins);
+        if (isBonus()) {
+            complete = --bonusBallsLeft == 0;
+        } else {
+            frameScores[frame] += pins;
+            score += pins;
+            if (!secondBall && pins == MAXIMUM_BALL_VALUE) {
+                finishFrame(MAX_BALLS_COUNT);
+            } else if (secondBall) {
+                finishFrame(firstPins + pins == FRAME_BALLS_MAX_SUM ? 1 : 0);
+            } else {
+                firstPins = pins;
+                secondBall = true;
+            }
+        }
+        while (scoredFrames < frame && bonusesOwed[scoredFrames] == 0) {
+            scoredFrames++;
+        }
+    }
+
+    /**
+     * Adds all balls of the frame, e.g. of the frame of partial game, which was built by Frame/Ball model.
+     */
+    public void roll(Frame frame) {
+        for (Ball ball : frame.getBalls()) {
+            roll(ball.getPins());
+        }
+    }
+
+    private void payBonuses(int pins) {
+        for (int i = Math.max(0, frame - 2); i < frame; i++) {
+            if (bonusesOwed[i] > 0) {
+                bonusesOwed[i]--;
+                frameScores[i] += pins;
+                score += pins;
+            }
+        }
+    }
+
+    private void finishFrame(int bonuses) {
+        bonusesOwed[frame] = bonuses;
+        secondBall = false;
+        firstPins = 0;
+        if (frame == LAST_NOTBONUS_FRAME_INDEX) {
+            bonusBallsLeft = bonuses;
+            complete = bonuses == 0;
+        }
+        frame++;
+    }
+
+    private boolean isBonus() {
+        return frame == COUNT_FRAMES;
+    }
+
+    /**
+     * Score of all balls rolled so far, including bonuses already earned.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Points of the frame(zero-based index) earned so far. It is final, if frame index is less then 'getScoredFrames'.
+     */
+    public int getFrameScore(int frame) {
+        return frameScores[frame];
+    }
+
+    /**
+     * Count of first frames, which scores are final and will not be changed by next balls.
+     */
+    public int getScoredFrames() {
+        return scoredFrames;
+    }
+
+    /**
+     * Zero-based index of the frame, which next ball belongs to. It is equal to COUNT_FRAMES for bonus balls.
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * Count of frames, which the next ball pays bonus to.
+     */
+    int getNextBallBonuses() {
+        return bonusesTo(1);
+    }
+
+    /**
+     * Count of frames, which the ball after the next one pays bonus to.
+     */
+    int getSecondBallBonuses() {
+        return bonusesTo(2);
+    }
+
+    private int bonusesTo(int ball) {
+        int count = 0;
+        for (int i = Math.max(0, frame - 2); i < frame; i++) {
+            if (bonusesOwed[i] >= ball) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    boolean isSecondBall() {
+        return secondBall;
+    }
+
+    /**
+     * Pins, which are standing for the next ball of non-bonus frame.
+     */
+    int getStandingPins() {
+        return FRAME_BALLS_MAX_SUM - firstPins;
+    }
+
+    int getBonusBallsLeft() {
+        return bonusBallsLeft;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void reset() {
+        Arrays.fill(frameScores, 0);
+        Arrays.fill(bonusesOwed, 0);
+        frame = 0;
+        firstPins = 0;
+        secondBall = false;
+        bonusBallsLeft = 0;
+        scoredFrames = 0;
+        score = 0;
+        complete = false;
+    }
+}
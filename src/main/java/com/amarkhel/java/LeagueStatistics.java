@@ -0,0 +1,285 @@
+package com.amarkhel.java;
+
+import com.amarkhel.java.model.Frame;
+import com.amarkhel.java.model.Game;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+import static com.amarkhel.java.Calculation.COUNT_FRAMES;
+
+/**
+ * Streaming aggregator of statistics over many games: count of games and of incorrect ones by error, mean, high and low game,
+ * histogram of scores, rates of strike, spare and open frames, and series(count, total and high game) per bowler.
+ * Memory doesn't depend on count of games: histogram has one counter per possible score, and series are kept per bowler.
+ * Text games are scored and validated by 'FusedGameService', then frames of correct ones are counted by one scan of the text
+ * till bonus delimiter, so no Frame or Ball objects are created. Already parsed games can be added too.
+ * Instance is not thread-safe: it is an accumulator, which is filled by one thread and merged with others, so parallel
+ * stream collects partial statistics per thread(see 'collector') and merges them at the end without any locks.
+ */
+public final class LeagueStatistics {
+
+    private static final char STRIKE = 'X';
+    private static final char SPARE = '/';
+    private static final char FRAME_DELIMITER = '|';
+
+    private final long[] histogram = new long[ScoreResult.MAX_SCORE + 1];
+    private final long[] errors = new long[ErrorCode.values().length + 1];
+    private final Map<String, Series> series = new HashMap<>();
+    private long games;
+    private long total;
+    private long strikes;
+    private long spares;
+
+    /**
+     * Collector of text games for sequential or parallel streams.
+     */
+    public static Collector<CharSequence, LeagueStatistics, LeagueStatistics> collector() {
+        return Collector.of(LeagueStatistics::new, LeagueStatistics::add, LeagueStatistics::merge,
+            Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Collector of elements, which contain bowler and text of the game.
+     */
+    public static <T> Collector<T, LeagueStatistics, LeagueStatistics> collector(Function<? super T, String> bowler,
+                                                                                 Function<? super T, ? extends CharSequence> game) {
+        return Collector.of(LeagueStatistics::new, (statistics, element) -> statistics.add(bowler.apply(element), game.apply(element)),
+            LeagueStatistics::merge, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Adds game, returns its score or negative code of ErrorCode, if game is incorrect.
+     */
+    public int add(CharSequence game) {
+        return add(null, game);
+    }
+
+    /**
+     * Adds game of bowler(null if unknown), returns its score or negative code of ErrorCode, if game is incorrect.
+     * Incorrect games are counted only by error and not in series of bowler.
+     */
+    public int add(String bowler, CharSequence game) {
+        int score = FusedGameService.instance.scoreOrError(game);
+        if (score < 0) {
+            errors[-score]++;
+            return score;
+        }
+        int length = game.length();
+        for (int i = 0; i < length; i++) {
+            char symbol = game.charAt(i);
+            if (symbol == STRIKE) {
+                strikes++;
+            } else if (symbol == SPARE) {
+                spares++;
+            } else if (symbol == FRAME_DELIMITER && i + 1 < length && game.charAt(i + 1) == FRAME_DELIMITER) {
+                break;
+            }
+        }
+        count(bowler, score);
+        return score;
+    }
+
+    /**
+     * Adds correct parsed game with its score. Score out of 0..MAX_SCORE is rejected by IllegalArgumentException,
+     * then statistics are not changed.
+     */
+    public void add(String bowler, Game game, int score) {
+        if (score < 0 || score > ScoreResult.MAX_SCORE) {
+            throw new IllegalArgumentException("Score should be from 0 to " + ScoreResult.MAX_SCORE + ", but it is " + score);
+        }
+        for (Frame frame : game.getFrames()) {
+            if (!frame.isBonus()) {
+                if (frame.isStrike()) {
+                    strikes++;
+                } else if (frame.isSpare()) {
+                    spares++;
+                }
+            }
+        }
+        count(bowler, score);
+    }
+
+    private void count(String bowler, int score) {
+        games++;
+        total += score;
+        histogram[score]++;
+        if (bowler != null) {
+            series.computeIfAbsent(bowler, name -> new Series()).add(score);
+        }
+    }
+
+    /**
+     * Adds all statistics of other accumulator to this one, returns this accumulator.
+     */
+    public LeagueStatistics merge(LeagueStatistics other) {
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] += other.histogram[i];
+        }
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] += other.errors[i];
+        }
+        for (Map.Entry<String, Series> entry : other.series.entrySet()) {
+            series.computeIfAbsent(entry.getKey(), name -> new Series()).merge(entry.getValue());
+        }
+        games += other.games;
+        total += other.total;
+        strikes += other.strikes;
+        spares += other.spares;
+        return this;
+    }
+
+    /**
+     * Count of correct games.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    public long getInvalidGames() {
+        long invalid = 0;
+        for (long count : errors) {
+            invalid += count;
+        }
+        return invalid;
+    }
+
+    public long getInvalidGames(ErrorCode error) {
+        return errors[error.getCode()];
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public double getMean() {
+        return games == 0 ? 0 : (double) total / games;
+    }
+
+    /**
+     * Highest score, or -1 if there are no correct games.
+     */
+    public int getHighGame() {
+        for (int score = histogram.length - 1; score >= 0; score--) {
+            if (histogram[score] > 0) {
+                return score;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lowest score, or -1 if there are no correct games.
+     */
+    public int getLowGame() {
+        for (int score = 0; score < histogram.length; score++) {
+            if (histogram[score] > 0) {
+                return score;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Count of games with given score.
+     */
+    public long getScoreCount(int score) {
+        return score < 0 || score >= histogram.length ? 0 : histogram[score];
+    }
+
+    /**
+     * Lowest score, which is not less then given percent of correct games, or -1 if there are no correct games.
+     */
+    public int getPercentile(double percent) {
+        long rank = (long) Math.ceil(games * percent / 100);
+        long seen = 0;
+        for (int score = 0; score < histogram.length; score++) {
+            seen += histogram[score];
+            if (seen >= rank && seen > 0) {
+                return score;
+            }
+        }
+        return -1;
+    }
+
+    public long getStrikes() {
+        return strikes;
+    }
+
+    public long getSpares() {
+        return spares;
+    }
+
+    public long getOpenFrames() {
+        return games * COUNT_FRAMES - strikes - spares;
+    }
+
+    public double getStrikeRate() {
+        return rate(strikes);
+    }
+
+    public double getSpareRate() {
+        return rate(spares);
+    }
+
+    public double getOpenFrameRate() {
+        return rate(getOpenFrames());
+    }
+
+    private double rate(long frames) {
+        return games == 0 ? 0 : (double) frames / (games * COUNT_FRAMES);
+    }
+
+    public Map<String, Series> getSeries() {
+        return Collections.unmodifiableMap(series);
+    }
+
+    /**
+     * Series of bowler, or null if bowler has no correct games.
+     */
+    public Series getSeries(String bowler) {
+        return series.get(bowler);
+    }
+
+    public static final class Series {
+        private long games;
+        private long total;
+        private int high;
+
+        void add(int score) {
+            games++;
+            total += score;
+            high = Math.max(high, score);
+        }
+
+        void merge(Series other) {
+            games += other.games;
+            total += other.total;
+            high = Math.max(high, other.high);
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public int getHigh() {
+            return high;
+        }
+
+        public double getAverage() {
+            return games == 0 ? 0 : (double) total / games;
+        }
+
+        @Override
+        public String toString() {
+            return "Series(games=" + games + ", total=" + total + ", high=" + high + ")";
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.amarkhel.java;
+
+import com.amarkhel.java.model.Game;
+
+/**
+ This calculation algorithm works directly on the packed representation of the game('PackedGame').
+ It is the same as classic imperative algorithm, but each ball is extracted from the packed longs by shift and mask,
+ so no list of balls or boxed rolls is created.
+ Game object can be scored as well, it is packed at first.
+ */
+public final class PackedCalculation implements Calculation {
+
+    @Override
+    public int score(Game game) {
+        return score(PackedGame.of(game));
+    }
+
+    public int score(PackedGame game) {
+        int score = 0;
+        int index = 0;
+        for (int i = 0; i < COUNT_FRAMES; i++) {
+            int first = game.getPins(index);
+            if (first == MAXIMUM_BALL_VALUE) {
+                score += MAXIMUM_BALL_VALUE + game.getPins(index + 1) + game.getPins(index + 2);
+                index += 1;
+            } else {
+                int frame = first + game.getPins(index + 1);
+                score += frame == MAXIMUM_BALL_VALUE ? MAXIMUM_BALL_VALUE + game.getPins(index + 2) : frame;
+                index += 2;
+            }
+        }
+        return score;
+    }
+}
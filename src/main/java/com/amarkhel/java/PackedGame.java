@@ -0,0 +1,161 @@
+package com.amarkhel.java;
+
+import com.amarkhel.java.model.Ball;
+import com.amarkhel.java.model.Frame;
+import com.amarkhel.java.model.Game;
+import com.amarkhel.java.validator.FullValidator;
+import com.amarkhel.java.validator.Validator;
+import lombok.Value;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.amarkhel.java.Calculation.*;
+
+/**
+ Compact fixed-width representation of correct game, that fits into 2 longs(16 bytes).
+ Each ball takes 4 bits: balls 0-15 are stored in 'low', balls 16-20 in the lowest bits of 'high'.
+ Count of balls is stored in 'high' starting from COUNT_SHIFT bit.
+ Frames are not stored, because in correct game they can be restored from pins: 10 pins by the first ball
+ of the frame is a strike, 10 pins by two balls is a spare.
+ */
+@Value
+public final class PackedGame {
+
+    public static final int SIZE_BYTES = 2 * Long.BYTES;
+    public static final int MAX_BALLS = COUNT_FRAMES * MAX_BALLS_COUNT + 1;
+
+    private static final int BITS_PER_BALL = 4;
+    private static final int BALLS_PER_LONG = Long.SIZE / BITS_PER_BALL;
+    private static final int COUNT_SHIFT = 56;
+    private static final long BALL_MASK = 0xF;
+    private static final long COUNT_MASK = 0x1F;
+    private static final char MISS = '-';
+    private static final char STRIKE = 'X';
+    private static final char SPARE = '/';
+    private static final String FRAME_DELIMITER = "|";
+    private static final String BONUS_DELIMITER = "||";
+    private static final Parser PARSER = new Parser(new FullValidator());
+
+    private final long low;
+    private final long high;
+
+    /**
+     * Parses and validates game in text format, then packs it.
+     */
+    public static PackedGame parse(String input) throws Exception {
+        return of(PARSER.parse(input));
+    }
+
+    /**
+     * Packs pins of the game without validation: game should be correct(e.g. parsed with FullValidator), otherwise
+     * frames can't be restored from pins. Only ball out of 0..10 pins or more then MAX_BALLS balls are rejected
+     * by IllegalArgumentException.
+     */
+    public static PackedGame of(Game game) {
+        int count = game.getRollsCount();
+        if (count > MAX_BALLS) {
+            throw new IllegalArgumentException("Game can't contain more then " + MAX_BALLS + " balls");
+        }
+        long low = 0;
+        long high = (long) count << COUNT_SHIFT;
+        for (int i = 0; i < count; i++) {
+            long pins = game.getRoll(i);
+            if (pins < MINIMUM_BALL_VALUE || pins > MAXIMUM_BALL_VALUE) {
+                throw new IllegalArgumentException(Validator.BALL_COUNT_PINS_ERROR);
+            }
+            if (i < BALLS_PER_LONG) {
+                low |= pins << (i * BITS_PER_BALL);
+            } else {
+                high |= pins << ((i - BALLS_PER_LONG) * BITS_PER_BALL);
+            }
+        }
+        return new PackedGame(low, high);
+    }
+
+    public static PackedGame readFrom(ByteBuffer buffer) {
+        long low = buffer.getLong();
+        long high = buffer.getLong();
+        return new PackedGame(low, high);
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putLong(low).putLong(high);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[SIZE_BYTES];
+        writeTo(ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    public int getBallsCount() {
+        return (int) ((high >>> COUNT_SHIFT) & COUNT_MASK);
+    }
+
+    public int getPins(int ball) {
+        return ball < BALLS_PER_LONG
+            ? (int) ((low >>> (ball * BITS_PER_BALL)) & BALL_MASK)
+            : (int) ((high >>> ((ball - BALLS_PER_LONG) * BITS_PER_BALL)) & BALL_MASK);
+    }
+
+    public Game toGame() {
+        List<Frame> frames = new ArrayList<>();
+        int ball = 0;
+        for (int i = 0; i < COUNT_FRAMES; i++) {
+            List<Ball> balls = new ArrayList<>();
+            int first = getPins(ball++);
+            if (first == MAXIMUM_BALL_VALUE) {
+                balls.add(Ball.strike(false));
+            } else {
+                int second = getPins(ball++);
+                balls.add(Ball.usual(first, false));
+                balls.add(first + second == FRAME_BALLS_MAX_SUM ? Ball.spare(second, false) : Ball.usual(second, false));
+            }
+            frames.add(new Frame(balls));
+        }
+        if (ball < getBallsCount()) {
+            List<Ball> bonus = new ArrayList<>();
+            while (ball < getBallsCount()) {
+                bonus.add(Ball.usual(getPins(ball++), true));
+            }
+            frames.add(new Frame(bonus));
+        }
+        return new Game(frames);
+    }
+
+    /**
+     * Restores text format of the game.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        int ball = 0;
+        for (int i = 0; i < COUNT_FRAMES; i++) {
+            if (i > 0) {
+                builder.append(FRAME_DELIMITER);
+            }
+            int first = getPins(ball++);
+            if (first == MAXIMUM_BALL_VALUE) {
+                builder.append(STRIKE);
+            } else {
+                int second = getPins(ball++);
+                builder.append(symbol(first));
+                builder.append(first + second == FRAME_BALLS_MAX_SUM ? SPARE : symbol(second));
+            }
+        }
+        builder.append(BONUS_DELIMITER);
+        while (ball < getBallsCount()) {
+            builder.append(symbol(getPins(ball++)));
+        }
+        return builder.toString();
+    }
+
+    private static char symbol(int pins) {
+        if (pins == MINIMUM_BALL_VALUE) {
+            return MISS;
+        }
+        return pins == MAXIMUM_BALL_VALUE ? STRIKE : (char) ('0' + pins);
+    }
+}
@@ -1,8 +1,12 @@
 package com.amarkhel.java;
 
+/**
+ * Error of parsing or validation of the input. It doesn't capture stack trace, because it is expected business error,
+ * not a bug, so it is cheap to create. Instances for well-known errors are preallocated, see 'ErrorCode.exception'.
+ */
 public class ParseException extends RuntimeException {
 
     public ParseException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -4,38 +4,34 @@ import com.amarkhel.java.model.Ball;
 import com.amarkhel.java.model.Frame;
 import com.amarkhel.java.model.Game;
 import com.amarkhel.java.validator.Validator;
-import lombok.AllArgsConstructor;
-import org.apache.commons.math3.util.Pair;
+import lombok.Value;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
-import static com.amarkhel.java.Calculation.FRAME_BALLS_MAX_SUM;
 import static java.lang.Character.*;
-import static java.util.stream.Collectors.toList;
 /**
   This class encapsulate all logic related to parsing and validation of input data.
   It takes 'validator' object as parameter and forward responsibility about validation to it.
-  It guaranteed that Exception will be thrown when input is empty, have wrong format or didn't contain BONUS_DELIMITER(||),
+  It guaranteed that error will be reported when input is empty, have wrong format or didn't contain BONUS_DELIMITER(||),
   because it is very important for further algorithm. Other validation rules are enforced by 'validator' instance
-  and implementation specific(it can skip validation at all or always throw error).
+  and implementation specific(it can skip validation at all or always report error).
 
   Parsing algorithm:
   1) Split input by BONUS_DELIMITER, left part will represent main bowling frames and right part will represent bonus frame
-  2) Parse main frames input to List of Frame objects.
-  3) Try to parse bonus input(if exist one frame will be returned, wrapped as Optional or empty Optional otherwise).
-  4) Combine list of balls and optional bonus frame to single list
-  5) Validate constructed list, using 'validator' object
-  6) If validation is successful, then new Game object will be constructed and returned as result.
-     Otherwise Exception with error description will be thrown.
+  2) Parse main frames input to List of Frame objects, stop on the first wrong symbol.
+  3) Try to parse bonus input(if exist one frame will be added to the list).
+  4) Validate constructed list, using 'validator' object
+  5) If validation is successful, then new Game object will be constructed and returned as result.
+     Otherwise result with error description will be returned.
+  'tryParse' never throws, so incorrect input costs no exception. 'parse' throws error of the result as ParseException,
+  preallocated one for known errors.
+  Pins of spare and strikes of no-tap formats are taken from RuleProfile(standard 10-pin by default).
  */
+public final class Parser {
 
-@AllArgsConstructor
-final class Parser {
-
-    private static final String WRONG_FORMAT_ERROR = "" +
+    static final String WRONG_FORMAT_ERROR = "" +
         "Input format is wrong. \n" +
         "It should have 10 frames separated by '|' and bonus frame(optionally, at the end of the input, separated by 2 preceeding '|'.\n" +
         "Each frame should contains up to 2 symbols, representing balls. Allowed symbols are: digits, 'X', '/', '-'.\n" +
@@ -48,75 +44,136 @@ final class Parser {
     private static final String BONUS_DELIMITER_PATTERN = FRAME_DELIMITER_PATTERN + FRAME_DELIMITER_PATTERN;
 
     private final Validator validator;
+    private final int pins;
+    private final int strikePins;
 
-    Game parse(String input) throws Exception {
-        Pair<List<String>, Optional<String>> splitted = splitParts(input);
-        List<String> mainInput = splitted.getKey();
-        Optional<String> bonusInput = splitted.getValue();
-        List<Frame> frames = combine(parseFrames(mainInput), parseBonus(bonusInput));
-        Optional<String> error = validator.validate(frames);
-        if (!error.isPresent()) {
-            return new Game(frames);
-        } else {
-            throw new ParseException(error.get());
-        }
+    public Parser(Validator validator) {
+        this(validator, RuleProfile.STANDARD);
     }
 
-    private List<Frame> combine(List<Frame> frames, Optional<Frame> bonus){
-        bonus.ifPresent(frames::add);
-        return frames;
+    public Parser(Validator validator, RuleProfile profile) {
+        this.validator = validator;
+        this.pins = profile.getPins();
+        this.strikePins = profile.getStrikePins();
     }
 
-    private List<Frame> parseFrames(List<String> input) {
-        return input.stream().map(frame -> parseFrame(frame, false)).collect(toList());
+    public Game parse(String input) throws Exception {
+        Result result = tryParse(input);
+        if (result.getGame() == null) {
+            throw result.exception();
+        }
+        return result.getGame();
     }
 
-    private Optional<Frame> parseBonus(Optional<String> input) {
-        return input.map(s -> parseFrame(s, true));
+    Result tryParse(String input) {
+        List<Frame> frames = new ArrayList<>();
+        ErrorCode error = parseFrames(input, frames);
+        if (error != null) {
+            return Result.failure(error);
+        }
+        return validate(frames);
     }
 
-    private Pair<List<String>, Optional<String>> splitParts(String input) {
-        if(input == null || input.isEmpty() || !input.contains(BONUS_DELIMITER)) {
-            throw new ParseException(WRONG_FORMAT_ERROR);
+    /**
+     * First stage of 'tryParse': adds all parsed frames to 'frames' and returns null, or returns error of wrong format.
+     */
+    ErrorCode parseFrames(String input, List<Frame> frames) {
+        if (input == null || input.isEmpty() || !input.contains(BONUS_DELIMITER)) {
+            return ErrorCode.WRONG_FORMAT;
         }
-        else {
-            String[] splitted = input.split(BONUS_DELIMITER_PATTERN);
-            Optional<String> bonus = splitted.length > 1 ? Optional.of(splitted[1]) : Optional.empty();
-            return new Pair<>(Arrays.asList(splitted[0].split(FRAME_DELIMITER_PATTERN)), bonus);
+        String[] splitted = input.split(BONUS_DELIMITER_PATTERN);
+        if (splitted.length == 0) {
+            return ErrorCode.WRONG_FORMAT;
         }
+        for (String frame : splitted[0].split(FRAME_DELIMITER_PATTERN)) {
+            ErrorCode error = parseFrame(frame, false, frames);
+            if (error != null) {
+                return error;
+            }
+        }
+        if (splitted.length > 1) {
+            return parseFrame(splitted[1], true, frames);
+        }
+        return null;
     }
 
-    private Frame parseFrame(String input, Boolean isBonus) {
-        /*
-           Unfortunately there is no good equivalent of Scala's foldLeft, so intermediate state should be created implicitly.
-           However, this state never escapes method boundary, so it can be counted as effectively-immutable implementation.
-         */
-        List<Ball> parsed = new ArrayList<>();
-        for (Character character : input.toCharArray()) {
-            parsed.add(parseBall(character, parsed, isBonus));
+    /**
+     * Second stage of 'tryParse': validates parsed frames.
+     */
+    Result validate(List<Frame> frames) {
+        Optional<String> error = validator.validate(frames);
+        if (!error.isPresent()) {
+            return new Result(new Game(frames), null, null);
+        } else {
+            return Result.failure(error.get());
         }
-        return new Frame(parsed);
     }
 
-    private Ball parseBall(Character character, List<Ball> balls, boolean isBonus) {
-        Ball ball;
-        switch (character) {
-            case MISS:
-                ball = Ball.miss(isBonus); break;
-            case STRIKE:
-                ball = Ball.strike(isBonus); break;
-            case SPARE: {
-                ball = Ball.spare(remainingPins(balls), isBonus); break;
+    /**
+     * Adds parsed frame to 'frames' and returns null, or returns error if input has wrong symbol.
+     */
+    private ErrorCode parseFrame(String input, boolean isBonus, List<Frame> frames) {
+        List<Ball> parsed = new ArrayList<>();
+        for (int i = 0; i < input.length(); i++) {
+            char character = input.charAt(i);
+            switch (character) {
+                case MISS:
+                    parsed.add(Ball.miss(isBonus)); break;
+                case STRIKE:
+                    parsed.add(Ball.strike(isBonus)); break;
+                case SPARE:
+                    if (isBonus) {
+                        return ErrorCode.SPARE_FRAME_BONUS;
+                    }
+                    parsed.add(Ball.spare(remainingPins(parsed), false)); break;
+                case '1' : case '2' : case '3' : case '4' : case '5' : case '6' : case '7' : case '8' : case '9':
+                    int value = getNumericValue(character);
+                    if (value >= strikePins && !isBonus && parsed.isEmpty()) {
+                        parsed.add(Ball.of(value, false, false, true));
+                    } else {
+                        parsed.add(Ball.usual(value, isBonus));
+                    }
+                    break;
+                default:
+                    return ErrorCode.WRONG_FORMAT;
             }
-            case '1' : case '2' : case '3' : case '4' : case '5' : case '6' : case '7' : case '8' : case '9':
-                ball = Ball.usual(getNumericValue(character), isBonus); break;
-            default:
-                throw new ParseException(WRONG_FORMAT_ERROR);
         }
-        return ball;
+        frames.add(new Frame(parsed));
+        return null;
     }
 
     private int remainingPins(List<Ball> balls) {
-        return FRAME_BALLS_MAX_SUM - balls.stream().mapToInt(Ball::getPins).sum();
+        return pins - balls.stream().mapToInt(Ball::getPins).sum();
+    }
+
+    /**
+     * Parsed game or error(code is null, when error is reported by custom validator).
+     */
+    @Value
+    static class Result {
+        private static final Result[] FAILURES = new Result[ErrorCode.values().length];
+
+        static {
+            for (ErrorCode error : ErrorCode.values()) {
+                FAILURES[error.ordinal()] = new Result(null, error, error.getMessage());
+            }
+        }
+
+        Game game;
+        ErrorCode error;
+        String message;
+
+        static Result failure(ErrorCode error) {
+            return FAILURES[error.ordinal()];
+        }
+
+        static Result failure(String message) {
+            ErrorCode error = ErrorCode.find(message);
+            return error != null ? failure(error) : new Result(null, null, message);
+        }
+
+        ParseException exception() {
+            return error != null ? error.exception() : new ParseException(message);
+        }
     }
-}
\ No newline at end of file
+}
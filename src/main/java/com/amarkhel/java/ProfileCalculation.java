@@ -0,0 +1,71 @@
+package com.amarkhel.java;
+
+import com.amarkhel.java.model.Game;
+
+/**
+ This calculation scores games of any RuleProfile. It traverses frames like 'ClassicCalculation', but frame ends,
+ when all pins are down or profile's count of balls is rolled, and frame, which cleared all pins, gets bonus of
+ 'RuleProfile.bonusBalls' next balls. First ball with at least 'strikePins' pins is strike, which counts as all pins,
+ also when it is paid as bonus: ball after strike or spare starts new rack, and so does ball after two strikes.
+ */
+public final class ProfileCalculation implements Calculation {
+
+    private final int frames;
+    private final int pins;
+    private final int ballsPerFrame;
+    private final int strikePins;
+
+    public ProfileCalculation(RuleProfile profile) {
+        frames = profile.getFrames();
+        pins = profile.getPins();
+        ballsPerFrame = profile.getBallsPerFrame();
+        strikePins = profile.getStrikePins();
+    }
+
+    @Override
+    public int score(Game game) {
+        int score = 0;
+        int index = 0;
+        for (int i = 0; i < frames; i++) {
+            int first = game.getRoll(index);
+            if (first >= strikePins) {
+                score += pins + strikeBonus(game, index + 1);
+                index += 1;
+                continue;
+            }
+            int sum = first;
+            int balls = 1;
+            while (balls < ballsPerFrame && sum < pins) {
+                sum += game.getRoll(index + balls);
+                balls++;
+            }
+            index += balls;
+            score += sum;
+            if (sum == pins) {
+                int bonus = RuleProfile.bonusBalls(balls);
+                if (bonus == RuleProfile.STRIKE_BONUS_BALLS) {
+                    score += strikeBonus(game, index);
+                } else if (bonus > 0) {
+                    score += rackBall(game, index);
+                }
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Two balls after strike: the first one starts new rack, the second one starts new rack only after strike.
+     */
+    private int strikeBonus(Game game, int index) {
+        int next = rackBall(game, index);
+        return next == pins ? next + rackBall(game, index + 1) : next + game.getRoll(index + 1);
+    }
+
+    /**
+     * Pins of the first ball of rack: no-tap strike counts as all pins.
+     */
+    private int rackBall(Game game, int index) {
+        int ball = game.getRoll(index);
+        return ball >= strikePins ? pins : ball;
+    }
+}
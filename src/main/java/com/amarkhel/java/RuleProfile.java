@@ -0,0 +1,93 @@
+package com.amarkhel.java;
+
+import com.amarkhel.java.validator.FullValidator;
+import com.amarkhel.java.validator.ProfileValidator;
+import com.amarkhel.java.validator.Validator;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import static com.amarkhel.java.Calculation.*;
+
+/**
+ * Description of rules of the game format: count of frames, count of pins, max count of balls per frame and count of pins,
+ * which should be knocked down by the first ball to make a strike(less then pins for no-tap formats).
+ * Profile is compiled to parser, validator, calculation and service of its format:
+ * 1) standard 10-pin profile is served by existing hand-tuned classes('Parser' with 'FullValidator', 'ClassicCalculation'),
+ *    so it costs nothing compared with them.
+ * 2) other profiles with 2 balls per frame get calculation specialized for 2 balls, other profiles get generic one.
+ * 3) all other profiles are validated by 'ProfileValidator'.
+ * Bonus of frame depends on count of balls, which cleared all pins: strike pays next 2 balls, spare on the second ball
+ * pays next 1 ball, and frame cleared by later ball pays nothing. So the last frame is followed by the same count of bonus balls.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RuleProfile {
+
+    public static final int STRIKE_BONUS_BALLS = 2;
+
+    public static final RuleProfile STANDARD = new RuleProfile("10-pin", COUNT_FRAMES, MAXIMUM_BALL_VALUE, MAX_BALLS_COUNT, MAXIMUM_BALL_VALUE);
+    public static final RuleProfile SHORT = new RuleProfile("5-frame", 5, MAXIMUM_BALL_VALUE, MAX_BALLS_COUNT, MAXIMUM_BALL_VALUE);
+    public static final RuleProfile NINE_PIN_NO_TAP = new RuleProfile("9-pin no-tap", COUNT_FRAMES, MAXIMUM_BALL_VALUE, MAX_BALLS_COUNT, 9);
+    public static final RuleProfile CANDLEPIN = new RuleProfile("candlepin", COUNT_FRAMES, MAXIMUM_BALL_VALUE, 3, MAXIMUM_BALL_VALUE);
+
+    String name;
+    int frames;
+    int pins;
+    int ballsPerFrame;
+    int strikePins;
+
+    /**
+     * Pins are written by single symbols, so there can't be more then 10 pins and 9 balls per frame.
+     */
+    public static RuleProfile of(String name, int frames, int pins, int ballsPerFrame, int strikePins) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("Count of frames should be positive");
+        }
+        if (pins <= 0 || pins > MAXIMUM_BALL_VALUE) {
+            throw new IllegalArgumentException("Count of pins should be from 1 to " + MAXIMUM_BALL_VALUE);
+        }
+        if (ballsPerFrame < MAX_BALLS_COUNT || ballsPerFrame > 9) {
+            throw new IllegalArgumentException("Count of balls per frame should be from " + MAX_BALLS_COUNT + " to 9");
+        }
+        if (strikePins <= 0 || strikePins > pins) {
+            throw new IllegalArgumentException("Pins of strike should be from 1 to count of pins");
+        }
+        RuleProfile profile = new RuleProfile(name, frames, pins, ballsPerFrame, strikePins);
+        return profile.isStandard() ? STANDARD : profile;
+    }
+
+    /**
+     * Count of bonus balls, paid to the frame, which cleared all pins by given count of balls.
+     */
+    public static int bonusBalls(int clearedBy) {
+        return Math.max(0, STRIKE_BONUS_BALLS + 1 - clearedBy);
+    }
+
+    public int getMaxScore() {
+        return frames * (STRIKE_BONUS_BALLS + 1) * pins;
+    }
+
+    public boolean isStandard() {
+        return frames == COUNT_FRAMES && pins == MAXIMUM_BALL_VALUE && ballsPerFrame == MAX_BALLS_COUNT && strikePins == MAXIMUM_BALL_VALUE;
+    }
+
+    public Validator validator() {
+        return isStandard() ? new FullValidator() : new ProfileValidator(this);
+    }
+
+    public Parser parser() {
+        return new Parser(validator(), this);
+    }
+
+    public Calculation calculation() {
+        if (isStandard()) {
+            return new ClassicCalculation();
+        }
+        return ballsPerFrame == MAX_BALLS_COUNT ? new TwoBallProfileCalculation(this) : new ProfileCalculation(this);
+    }
+
+    public GameService service() {
+        return isStandard() ? GameService.classic : GameService.of(parser(), calculation());
+    }
+}
@@ -0,0 +1,65 @@
+package com.amarkhel.java;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import static com.amarkhel.java.Calculation.COUNT_FRAMES;
+import static com.amarkhel.java.Calculation.MAXIMUM_BALL_VALUE;
+
+/**
+ * Result of scoring of one input: either score of correct game or error of incorrect one, so errors are reported
+ * without exceptions. Error has code(null when error is reported by custom validator) and the same message,
+ * which exception of 'calculateScore' would contain.
+ * Results for all possible scores of correct games and for all known errors are preallocated, so producing them
+ * allocates nothing.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ScoreResult {
+
+    public static final int MAX_SCORE = COUNT_FRAMES * 3 * MAXIMUM_BALL_VALUE;
+
+    private static final ScoreResult[] SCORES = new ScoreResult[MAX_SCORE + 1];
+    private static final ScoreResult[] ERRORS = new ScoreResult[ErrorCode.values().length];
+
+    static {
+        for (int i = 0; i < SCORES.length; i++) {
+            SCORES[i] = new ScoreResult(i, null, null);
+        }
+        for (ErrorCode error : ErrorCode.values()) {
+            ERRORS[error.ordinal()] = new ScoreResult(0, error, error.getMessage());
+        }
+    }
+
+    int score;
+    ErrorCode error;
+    String message;
+
+    public static ScoreResult success(int score) {
+        return score >= 0 && score <= MAX_SCORE ? SCORES[score] : new ScoreResult(score, null, null);
+    }
+
+    public static ScoreResult failure(ErrorCode error) {
+        return ERRORS[error.ordinal()];
+    }
+
+    public static ScoreResult failure(String message) {
+        ErrorCode error = ErrorCode.find(message);
+        return error != null ? failure(error) : new ScoreResult(0, null, message);
+    }
+
+    public boolean isSuccess() {
+        return message == null;
+    }
+
+    /**
+     * Returns score of correct game, or throws the same ParseException as 'calculateScore' for incorrect one.
+     */
+    public int getScore() {
+        if (message != null) {
+            throw error != null ? error.exception() : new ParseException(message);
+        }
+        return score;
+    }
+}
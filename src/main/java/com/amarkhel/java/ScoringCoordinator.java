@@ -0,0 +1,411 @@
+package com.amarkhel.java;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ This coordinator scores streams of newline-delimited games by several worker JVMs('ScoringWorker'), started as child processes
+ on the same machine, so scoring is not limited by one heap and its GC pauses. Output is the same as output of 'BulkScorer':
+ one line per input line with score or negative code of the error, in the order of input.
+
+ Algorithm:
+ 1) Input is split to chunks of 'chunkGames' lines, chunks are put into the shared queue.
+ 2) Each worker is served by its own thread, which takes chunk from the queue, sends it to the worker and waits for results
+    (see framing in 'ScoringWorker').
+ 3) Results are written in the order of chunks. Only limited count of chunks are in flight, so memory doesn't depend on input size.
+ Each started worker gets random token through its standard input and sends it first after connecting, so connection
+ of another local process is closed and doesn't get games(it can't see the token in the command line of the worker).
+ When worker dies(connection is broken, or worker doesn't connect in time), its process is destroyed, its chunk is returned
+ to the head of the queue, and a new worker is started for the next chunk. Chunk, which failed MAX_ATTEMPTS times,
+ fails the whole call with IOException, so input, which kills workers, can't restart them forever.
+ */
+public final class ScoringCoordinator implements Closeable {
+
+    public static final int DEFAULT_CHUNK_GAMES = 16 * 1024;
+    public static final int MAX_ATTEMPTS = 3;
+
+    private static final byte LINE_END = '\n';
+    private static final int CONNECT_TIMEOUT_MILLIS = 30_000;
+    private static final int ACCEPT_POLL_MILLIS = 100;
+    private static final int EXIT_TIMEOUT_MILLIS = 1_000;
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 1_000;
+
+    private final ServerSocket server;
+    private final int chunkGames;
+    private final int maxChunksPerWorker;
+    private final LinkedBlockingDeque<Chunk> queue = new LinkedBlockingDeque<>();
+    private final AtomicInteger chunkIds = new AtomicInteger();
+    private final LongAdder restarts = new LongAdder();
+    private final SecureRandom tokens = new SecureRandom();
+    private final Thread[] lanes;
+    private volatile boolean closed;
+
+    public ScoringCoordinator(int workers) throws IOException {
+        this(workers, DEFAULT_CHUNK_GAMES, 0);
+    }
+
+    /**
+     * Workers are started lazily, by the first chunk. Each worker is recycled after 'maxChunksPerWorker' chunks(0 is never).
+     */
+    public ScoringCoordinator(int workers, int chunkGames, int maxChunksPerWorker) throws IOException {
+        if (workers <= 0 || chunkGames <= 0 || maxChunksPerWorker < 0) {
+            throw new IllegalArgumentException("Count of workers and games per chunk should be positive");
+        }
+        this.chunkGames = chunkGames;
+        this.maxChunksPerWorker = maxChunksPerWorker;
+        server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress());
+        lanes = new Thread[workers];
+        for (int i = 0; i < workers; i++) {
+            lanes[i] = new Thread(this::serve, "scoring-coordinator-" + i);
+            lanes[i].setDaemon(true);
+            lanes[i].start();
+        }
+    }
+
+    /**
+     * Scores all games from 'input' file to 'output' file. Returns count of scored lines.
+     */
+    public long score(Path input, Path output) throws IOException {
+        try (InputStream in = Files.newInputStream(input); OutputStream out = Files.newOutputStream(output)) {
+            return score(in, out);
+        }
+    }
+
+    /**
+     * Scores all games from 'input' stream to 'output' stream. Streams are not closed, output is flushed. Returns count of scored lines.
+     */
+    public long score(InputStream input, OutputStream output) throws IOException {
+        ChunkReader reader = new ChunkReader(input);
+        int window = lanes.length * 2;
+        Deque<Chunk> pending = new ArrayDeque<>();
+        long lines = 0;
+        try {
+            Chunk chunk;
+            while ((chunk = reader.next()) != null) {
+                submit(chunk);
+                pending.add(chunk);
+                if (pending.size() >= window) {
+                    lines += write(pending.poll(), output);
+                }
+            }
+            while (!pending.isEmpty()) {
+                lines += write(pending.poll(), output);
+            }
+        } finally {
+            queue.removeAll(pending);
+        }
+        output.flush();
+        return lines;
+    }
+
+    private void submit(Chunk chunk) throws IOException {
+        if (closed) {
+            throw new IOException("Coordinator is closed");
+        }
+        queue.add(chunk);
+    }
+
+    private long write(Chunk chunk, OutputStream output) throws IOException {
+        short[] results;
+        try {
+            results = chunk.results.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        }
+        BulkScorer.ChunkOutput lines = new BulkScorer.ChunkOutput(results.length * 4);
+        for (short result : results) {
+            lines.write(result);
+        }
+        return lines.writeTo(output);
+    }
+
+    private void serve() {
+        Worker worker = null;
+        try {
+            while (!closed) {
+                Chunk chunk = queue.take();
+                try {
+                    if (worker == null) {
+                        worker = start();
+                    }
+                    chunk.results.complete(worker.score(chunk));
+                    if (maxChunksPerWorker > 0 && worker.chunks == maxChunksPerWorker) {
+                        worker.close();
+                        worker = null;
+                    }
+                } catch (IOException e) {
+                    if (worker != null) {
+                        worker.close();
+                        worker = null;
+                    }
+                    restarts.increment();
+                    if (++chunk.attempts >= MAX_ATTEMPTS || closed) {
+                        chunk.results.completeExceptionally(new IOException("Chunk " + chunk.id + " failed " + chunk.attempts + " times", e));
+                    } else {
+                        queue.addFirst(chunk);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (worker != null) {
+                worker.close();
+            }
+        }
+    }
+
+    /**
+     * Starts worker process with the classpath of this JVM and waits till it connects with its token. Workers are started
+     * one by one, so connection with the token always belongs to just started process.
+     */
+    private Worker start() throws IOException {
+        synchronized (server) {
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            List<String> command = new ArrayList<>(Arrays.asList(java, "-cp", System.getProperty("java.class.path"),
+                ScoringWorker.class.getName(), Integer.toString(server.getLocalPort())));
+            if (maxChunksPerWorker > 0) {
+                command.add(Integer.toString(maxChunksPerWorker));
+            }
+            Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+            long token = tokens.nextLong();
+            try (DataOutputStream handshake = new DataOutputStream(process.getOutputStream())) {
+                handshake.writeLong(token);
+            } catch (IOException e) {
+                process.destroyForcibly();
+                throw e;
+            }
+            long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+            server.setSoTimeout(ACCEPT_POLL_MILLIS);
+            while (true) {
+                try {
+                    Worker worker = accept(process, token);
+                    if (worker != null) {
+                        return worker;
+                    }
+                } catch (SocketTimeoutException e) {
+                    //nobody connected yet
+                }
+                if (!process.isAlive() || System.currentTimeMillis() > deadline || closed) {
+                    process.destroyForcibly();
+                    throw new IOException("Worker didn't connect to coordinator");
+                }
+            }
+        }
+    }
+
+    /**
+     * Accepts one connection. Returns null and closes connection, which doesn't send the token in time.
+     */
+    private Worker accept(Process process, long token) throws IOException {
+        Socket socket = server.accept();
+        try {
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+            Worker worker = new Worker(process, socket);
+            if (worker.in.readLong() == token) {
+                socket.setSoTimeout(0);
+                return worker;
+            }
+        } catch (IOException e) {
+            //not a worker, or it is broken, anyway it is replaced
+        }
+        socket.close();
+        return null;
+    }
+
+    /**
+     * Port on loopback, which workers connect to.
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Count of workers, which died or didn't connect, and were replaced by new ones(recycled workers are not counted).
+     */
+    public long getRestarts() {
+        return restarts.sum();
+    }
+
+    /**
+     * Stops workers. Calls, which are still scoring, fail with IOException.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        for (Thread lane : lanes) {
+            lane.interrupt();
+        }
+        for (Thread lane : lanes) {
+            try {
+                lane.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        Chunk chunk;
+        while ((chunk = queue.poll()) != null) {
+            chunk.results.completeExceptionally(new IOException("Coordinator is closed"));
+        }
+        server.close();
+    }
+
+    private static final class Chunk {
+        final int id;
+        final byte[] text;
+        final int length;
+        final int count;
+        final CompletableFuture<short[]> results = new CompletableFuture<>();
+        int attempts;
+
+        Chunk(int id, byte[] text, int length, int count) {
+            this.id = id;
+            this.text = text;
+            this.length = length;
+            this.count = count;
+        }
+    }
+
+    private static final class Worker {
+        final Process process;
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+        int chunks;
+
+        Worker(Process process, Socket socket) throws IOException {
+            this.process = process;
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), ScoringWorker.BUFFER_SIZE));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), ScoringWorker.BUFFER_SIZE));
+        }
+
+        short[] score(Chunk chunk) throws IOException {
+            out.writeInt(chunk.id);
+            out.writeInt(chunk.count);
+            out.writeInt(chunk.length);
+            out.write(chunk.text, 0, chunk.length);
+            out.flush();
+            if (in.readInt() != chunk.id || in.readInt() != chunk.count) {
+                throw new IOException("Worker answered not for chunk " + chunk.id);
+            }
+            short[] results = new short[chunk.count];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = in.readShort();
+            }
+            chunks++;
+            return results;
+        }
+
+        /**
+         * Closed connection makes worker exit, it is destroyed, if it doesn't exit in time.
+         */
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                //worker is stopped anyway
+            }
+            try {
+                if (!process.waitFor(EXIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private final class ChunkReader {
+        private final InputStream input;
+        private final byte[] buffer = new byte[ScoringWorker.BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        ChunkReader(InputStream input) {
+            this.input = input;
+        }
+
+        /**
+         * Next chunk of 'chunkGames' lines, or less at the end of input. Last line gets line end, if it doesn't have it.
+         */
+        Chunk next() throws IOException {
+            byte[] text = new byte[ScoringWorker.BUFFER_SIZE];
+            int length = 0;
+            int count = 0;
+            while (count < chunkGames) {
+                if (position == limit) {
+                    limit = Math.max(0, input.read(buffer));
+                    position = 0;
+                    if (limit == 0) {
+                        break;
+                    }
+                }
+                int end = position;
+                while (end < limit && count < chunkGames) {
+                    if (buffer[end++] == LINE_END) {
+                        count++;
+                    }
+                }
+                if (text.length - length < end - position + 1) {
+                    text = Arrays.copyOf(text, Math.max(text.length * 2, length + end - position + 1));
+                }
+                System.arraycopy(buffer, position, text, length, end - position);
+                length += end - position;
+                position = end;
+            }
+            if (length > 0 && text[length - 1] != LINE_END) {
+                text[length++] = LINE_END;
+                count++;
+            }
+            return count == 0 ? null : new Chunk(chunkIds.getAndIncrement(), text, length, count);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: ScoringCoordinator <workers> <input file> [<output file>]");
+            return;
+        }
+        try (ScoringCoordinator coordinator = new ScoringCoordinator(Integer.parseInt(args[0]))) {
+            if (args.length == 2) {
+                try (InputStream input = Files.newInputStream(Paths.get(args[1]))) {
+                    coordinator.score(input, System.out);
+                }
+            } else {
+                coordinator.score(Paths.get(args[1]), Paths.get(args[2]));
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.amarkhel.java;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ This server scores games over plain TCP with line-based protocol: client sends games in text format, one per line,
+ and for each line server answers one line with score of the game, or negative code of the error(see 'ErrorCode'),
+ in the same order. Client doesn't need to wait for the answer before sending the next game(pipelining).
+
+ All connections are served by one thread with non-blocking NIO selector loop:
+ 1) All complete lines, received by connection, are scored at once directly from its input buffer
+    by 'FusedGameService', so no String is created per request.
+ 2) Answers are collected in output buffer of the connection and written, when socket accepts them.
+ 3) When output buffer is full, connection stops reading until client reads answers, so slow client
+    can't make server buffer unlimited amount of answers.
+ Line longer then MAX_LINE_LENGTH is answered as wrong format, and the rest of it is skipped.
+ When client closes its output, all its games are answered before connection is closed, even if they didn't fit into
+ output buffer at once.
+ */
+public final class ScoringServer implements Closeable {
+
+    public static final int MAX_LINE_LENGTH = 1024;
+
+    private static final int INPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    //sign, 10 digits and line end
+    private static final int MAX_ANSWER_LENGTH = 12;
+    private static final byte LINE_END = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final AsciiSequence game = new AsciiSequence();
+    private volatile boolean running = true;
+    private Thread thread;
+    private Thread loop;
+
+    public ScoringServer(InetSocketAddress address) throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Starts selector loop in a new daemon thread.
+     */
+    public synchronized ScoringServer start() {
+        if (thread == null) {
+            thread = new Thread(this::run, "scoring-server-" + getPort());
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return this;
+    }
+
+    /**
+     * Runs selector loop in the calling thread until server is closed. Channels, selector and server socket are used
+     * and closed only by this thread, 'close' just stops the loop.
+     */
+    public void run() {
+        synchronized (this) {
+            if (!running || loop != null) {
+                return;
+            }
+            loop = Thread.currentThread();
+        }
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            //server is closed
+        } catch (IOException e) {
+            throw new IllegalStateException("Selector failed", e);
+        } finally {
+            release();
+        }
+    }
+
+    private void handle(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            SocketChannel channel = server.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+            }
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isWritable()) {
+                connection.flush();
+                connection.process();
+                connection.flush();
+            }
+            if (key.isValid() && key.isReadable() && connection.channel.read(connection.input) < 0) {
+                connection.finish();
+            }
+            connection.process();
+            connection.flush();
+            if (connection.finished && connection.input.position() == 0 && connection.output.position() == 0) {
+                key.cancel();
+                connection.channel.close();
+            } else {
+                key.interestOps(connection.interest());
+            }
+        } catch (IOException | CancelledKeyException e) {
+            key.cancel();
+            connection.channel.close();
+        }
+    }
+
+    /**
+     * Stops selector loop and waits till it releases connections. If loop is not running, connections are released here.
+     */
+    @Override
+    public void close() {
+        Thread loop;
+        synchronized (this) {
+            running = false;
+            loop = this.loop;
+        }
+        if (loop == null) {
+            release();
+            return;
+        }
+        selector.wakeup();
+        if (loop != Thread.currentThread()) {
+            try {
+                loop.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private synchronized void release() {
+        if (!selector.isOpen()) {
+            return;
+        }
+        for (SelectionKey key : selector.keys()) {
+            closeQuietly(key.channel());
+        }
+        closeQuietly(selector);
+        closeQuietly(server);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            //server is stopped anyway
+        }
+    }
+
+    private final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer input = ByteBuffer.allocate(INPUT_BUFFER_SIZE);
+        private final ByteBuffer output = ByteBuffer.allocate(OUTPUT_BUFFER_SIZE);
+        private boolean skipping;
+        private boolean finished;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Answers all complete lines from input buffer, while there is space for answers. The rest stays in the buffer.
+         */
+        void process() {
+            int limit = input.position();
+            int from = 0;
+            boolean partial = false;
+            while (output.remaining() >= MAX_ANSWER_LENGTH) {
+                int to = from;
+                while (to < limit && input.get(to) != LINE_END) {
+                    to++;
+                }
+                if (to == limit) {
+                    partial = true;
+                    break;
+                }
+                if (skipping) {
+                    skipping = false;
+                } else {
+                    int length = to - from;
+                    if (length > 0 && input.get(to - 1) == CARRIAGE_RETURN) {
+                        length--;
+                    }
+                    answer(length > MAX_LINE_LENGTH ? -ErrorCode.WRONG_FORMAT.getCode()
+                        : FusedGameService.instance.scoreOrError(game.wrap(input, from, length)));
+                }
+                from = to + 1;
+            }
+            if (partial && (skipping || limit - from > MAX_LINE_LENGTH)) {
+                if (!skipping) {
+                    answer(-ErrorCode.WRONG_FORMAT.getCode());
+                    skipping = true;
+                }
+                from = limit;
+            }
+            input.limit(limit).position(from);
+            input.compact();
+            if (finished) {
+                completeLastLine();
+            }
+        }
+
+        /**
+         * Client will not send more games, so the last line is complete even without line end.
+         */
+        void finish() {
+            finished = true;
+            completeLastLine();
+        }
+
+        /**
+         * Line end is added, when there is space for it, so it may be added only after the next 'process'.
+         */
+        private void completeLastLine() {
+            if (input.position() > 0 && input.get(input.position() - 1) != LINE_END && input.hasRemaining()) {
+                input.put(LINE_END);
+            }
+        }
+
+        void flush() throws IOException {
+            output.flip();
+            channel.write(output);
+            output.compact();
+        }
+
+        int interest() {
+            int interest = 0;
+            //after client has finished, lines left in input are answered, when socket is ready to take answers
+            if (output.position() > 0 || finished && input.position() > 0) {
+                interest |= SelectionKey.OP_WRITE;
+            }
+            if (!finished && output.remaining() >= MAX_ANSWER_LENGTH && input.hasRemaining()) {
+                interest |= SelectionKey.OP_READ;
+            }
+            return interest;
+        }
+
+        private void answer(int value) {
+            if (value < 0) {
+                output.put((byte) '-');
+                value = -value;
+            }
+            int start = output.position();
+            do {
+                output.put((byte) ('0' + value % 10));
+                value /= 10;
+            } while (value > 0);
+            for (int i = start, j = output.position() - 1; i < j; i++, j--) {
+                byte digit = output.get(i);
+                output.put(i, output.get(j));
+                output.put(j, digit);
+            }
+            output.put(LINE_END);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7878;
+        try (ScoringServer server = new ScoringServer(new InetSocketAddress(port))) {
+            System.out.println("Scoring server is listening on port " + server.getPort());
+            server.run();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.amarkhel.java;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ Worker process of 'ScoringCoordinator': it connects to the coordinator over loopback, receives chunks of games,
+ scores them by 'FusedGameService' directly from received bytes and sends back results, until coordinator closes connection.
+
+ Framing(numbers are big-endian, as written by DataOutputStream):
+ 0) handshake: after connecting worker sends token(long), which coordinator writes to its standard input.
+ 1) request: chunk id(int), count of games(int), length of text(int), text of games, each ended by '\n'.
+ 2) response: chunk id(int), count of games(int), result of each game(short): score, or negative code of the error(see 'ErrorCode').
+ Worker can be recycled after 'maxChunks' chunks, so memory of long-living process can't grow: it answers the last chunk and exits,
+ then coordinator starts a new one.
+ */
+public final class ScoringWorker {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte LINE_END = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private ScoringWorker() {
+    }
+
+    /**
+     * Serves chunks till the end of input, or till 'maxChunks' chunks are answered(0 is unlimited).
+     */
+    static void serve(InputStream input, OutputStream output, int maxChunks) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE));
+        AsciiSequence game = new AsciiSequence();
+        byte[] text = new byte[BUFFER_SIZE];
+        for (int chunks = 0; maxChunks == 0 || chunks < maxChunks; chunks++) {
+            int id;
+            try {
+                id = in.readInt();
+            } catch (EOFException e) {
+                return;
+            }
+            int count = in.readInt();
+            int length = in.readInt();
+            if (length > text.length) {
+                text = new byte[Math.max(length, text.length * 2)];
+            }
+            in.readFully(text, 0, length);
+            out.writeInt(id);
+            out.writeInt(count);
+            int games = 0;
+            int from = 0;
+            while (from < length) {
+                int to = from;
+                while (to < length && text[to] != LINE_END) {
+                    to++;
+                }
+                int size = to - from;
+                if (size > 0 && text[to - 1] == CARRIAGE_RETURN) {
+                    size--;
+                }
+                out.writeShort(FusedGameService.instance.scoreOrError(game.wrap(text, from, size)));
+                games++;
+                from = to + 1;
+            }
+            if (games != count) {
+                throw new IOException("Chunk " + id + " should contain " + count + " games, but contains " + games);
+            }
+            out.flush();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: ScoringWorker <coordinator port> [<max chunks>], token is read from standard input");
+            return;
+        }
+        long token = new DataInputStream(System.in).readLong();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]))) {
+            socket.setTcpNoDelay(true);
+            new DataOutputStream(socket.getOutputStream()).writeLong(token);
+            serve(socket.getInputStream(), socket.getOutputStream(), args.length == 2 ? Integer.parseInt(args[1]) : 0);
+        }
+    }
+}
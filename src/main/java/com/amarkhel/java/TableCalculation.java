@@ -0,0 +1,105 @@
+package com.amarkhel.java;
+
+import com.amarkhel.java.model.Game;
+
+/**
+ This calculation algorithm replaces all strike/spare conditions by lookups into tables, precomputed when class is loaded.
+ Each frame is represented by code 'first * 11 + second'(strike is '10 * 11 + 0'), so code can be calculated without branches.
+ State between frames is count of bonuses, that next ball and ball after it should pay to previous strikes and spares.
+ There are only 4 possible states: (0, 0) - no bonuses, (1, 0) - after spare, (1, 1) - after strike, (2, 1) - after two strikes,
+ and each state is numbered by sum of its bonuses.
+ For each pair (state, frame code) tables contain points, that frame brings(its pins and bonuses to previous frames),
+ and next state. So score of the game is the sum of 10 lookups, and bonus balls are multiplied by bonuses of the last state.
+ Game can be passed as Game object or as array of FRAME_CODES_LENGTH bytes: 10 frame codes and pins of 2 bonus balls.
+ Game object is read by its flat rolls(not by frames and balls), the only branch left is width of the frame: strike takes one roll.
+ */
+public final class TableCalculation implements Calculation {
+
+    public static final int FRAME_CODES_LENGTH = COUNT_FRAMES + MAX_BALLS_COUNT;
+
+    private static final int PINS_VALUES = MAXIMUM_BALL_VALUE + 1;
+    private static final int CODES = PINS_VALUES * PINS_VALUES;
+    private static final int STATES = 4;
+    private static final int[] NEXT_BALL_BONUS = {0, 1, 1, 2};
+    private static final int[] SECOND_BALL_BONUS = {0, 0, 1, 1};
+    private static final int[] POINTS = new int[STATES * CODES];
+    private static final int[] TRANSITIONS = new int[STATES * CODES];
+
+    static {
+        for (int state = 0; state < STATES; state++) {
+            int next = NEXT_BALL_BONUS[state];
+            int second = SECOND_BALL_BONUS[state];
+            for (int firstPins = 0; firstPins < PINS_VALUES; firstPins++) {
+                for (int secondPins = 0; secondPins < PINS_VALUES - firstPins; secondPins++) {
+                    int cell = state * CODES + frameCode(firstPins, secondPins);
+                    int nextState;
+                    if (firstPins == MAXIMUM_BALL_VALUE) {
+                        POINTS[cell] = firstPins * (1 + next);
+                        nextState = second + 1 + 1;
+                    } else {
+                        POINTS[cell] = firstPins * (1 + next) + secondPins * (1 + second);
+                        nextState = firstPins + secondPins == FRAME_BALLS_MAX_SUM ? 1 : 0;
+                    }
+                    TRANSITIONS[cell] = nextState * CODES;
+                }
+            }
+        }
+    }
+
+    public static int frameCode(int firstPins, int secondPins) {
+        return firstPins * PINS_VALUES + secondPins;
+    }
+
+    /**
+     * Converts correct game to 10 frame codes and pins of 2 bonus balls(0 if there is no such ball).
+     */
+    public static byte[] encode(Game game) {
+        byte[] codes = new byte[FRAME_CODES_LENGTH];
+        int count = game.getRollsCount();
+        int index = 0;
+        for (int i = 0; i < COUNT_FRAMES; i++) {
+            int first = game.getRoll(index++);
+            int second = first == MAXIMUM_BALL_VALUE ? 0 : game.getRoll(index++);
+            codes[i] = (byte) frameCode(first, second);
+        }
+        for (int i = 0; index < count; i++) {
+            codes[COUNT_FRAMES + i] = (byte) game.getRoll(index++);
+        }
+        return codes;
+    }
+
+    @Override
+    public int score(Game game) {
+        int count = game.getRollsCount();
+        int score = 0;
+        int row = 0;
+        int index = 0;
+        for (int i = 0; i < COUNT_FRAMES; i++) {
+            int first = game.getRoll(index++);
+            int second = first == MAXIMUM_BALL_VALUE ? 0 : game.getRoll(index++);
+            int cell = row + frameCode(first, second);
+            score += POINTS[cell];
+            row = TRANSITIONS[cell];
+        }
+        if (index < count) {
+            int state = row / CODES;
+            score += game.getRoll(index) * NEXT_BALL_BONUS[state];
+            if (index + 1 < count) {
+                score += game.getRoll(index + 1) * SECOND_BALL_BONUS[state];
+            }
+        }
+        return score;
+    }
+
+    public int score(byte[] codes) {
+        int score = 0;
+        int row = 0;
+        for (int i = 0; i < COUNT_FRAMES; i++) {
+            int cell = row + codes[i];
+            score += POINTS[cell];
+            row = TRANSITIONS[cell];
+        }
+        int state = row / CODES;
+        return score + codes[COUNT_FRAMES] * NEXT_BALL_BONUS[state] + codes[COUNT_FRAMES + 1] * SECOND_BALL_BONUS[state];
+    }
+}
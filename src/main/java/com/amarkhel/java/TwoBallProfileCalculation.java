@@ -0,0 +1,47 @@
+package com.amarkhel.java;
+
+import com.amarkhel.java.model.Game;
+
+/**
+ Specialization of 'ProfileCalculation' for profiles with 2 balls per frame(short formats, no-tap):
+ the same algorithm as 'ClassicCalculation', with count of frames, pins and strike threshold taken from profile.
+ No-tap strike counts as all pins, also when it is paid as bonus(see 'ProfileCalculation').
+ */
+final class TwoBallProfileCalculation implements Calculation {
+
+    private final int frames;
+    private final int pins;
+    private final int strikePins;
+
+    TwoBallProfileCalculation(RuleProfile profile) {
+        frames = profile.getFrames();
+        pins = profile.getPins();
+        strikePins = profile.getStrikePins();
+    }
+
+    @Override
+    public int score(Game game) {
+        int score = 0;
+        int index = 0;
+        for (int i = 0; i < frames; i++) {
+            int first = game.getRoll(index);
+            if (first >= strikePins) {
+                int next = rackBall(game, index + 1);
+                score += pins + next + (next == pins ? rackBall(game, index + 2) : game.getRoll(index + 2));
+                index += 1;
+            } else if (first + game.getRoll(index + 1) == pins) {
+                score += pins + rackBall(game, index + 2);
+                index += 2;
+            } else {
+                score += first + game.getRoll(index + 1);
+                index += 2;
+            }
+        }
+        return score;
+    }
+
+    private int rackBall(Game game, int index) {
+        int ball = game.getRoll(index);
+        return ball >= strikePins ? pins : ball;
+    }
+}
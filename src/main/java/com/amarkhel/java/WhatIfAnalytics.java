@@ -0,0 +1,191 @@
+package com.amarkhel.java;
+
+import lombok.Value;
+
+import static com.amarkhel.java.Calculation.*;
+
+/**
+ * "What-if" analytics over games in progress, which are kept by IncrementalScorer(game can be rolled by pins, symbols or frames
+ * of Frame/Ball model): the lowest and the highest final score, the least count of pins to reach given score and whether bowler
+ * can still win. The lowest final score is the score earned so far, because missed balls earn nothing.
+ * Rest of the game depends only on a small state: frame, ball of the frame, standing pins and count of frames, which the next ball
+ * and the ball after it pay bonus to. There are only few thousands of such states, so answers are calculated once for all of them:
+ * 1) the highest count of points, which can be earned from the state, is found by memoized search over pins of the next ball.
+ * 2) the least count of pins, which earns at least given count of points, is found by the same search for each count of points
+ *    up to the highest one(there can't be more then 120 pins left, so they are kept in bytes).
+ * 3) query reads the state of the scorer and looks up the tables, so it takes constant time and creates no objects.
+ * Bowler can still win, if the highest score of bowler is greater then the lowest score of every other bowler, because all others
+ * can miss every ball left. Tables are filled when class is loaded and are never changed, so queries are thread-safe.
+ */
+public final class WhatIfAnalytics {
+
+    private static final int BONUS_FRAME = COUNT_FRAMES;
+    private static final int PINS_STATES = MAXIMUM_BALL_VALUE + 1;
+    //next ball pays bonus to strike or spare of previous frame and to strike of the frame before it
+    private static final int NEXT_BALL_BONUSES = 3;
+    private static final int SECOND_BALL_BONUSES = 2;
+    private static final int STATES = (COUNT_FRAMES + 1) * MAX_BALLS_COUNT * PINS_STATES * NEXT_BALL_BONUSES * SECOND_BALL_BONUSES;
+    private static final int FINISHED = STATES;
+
+    private static final int[] maxPoints = new int[STATES + 1];
+    private static final byte[][] minPins = new byte[STATES + 1][];
+
+    static {
+        minPins[FINISHED] = new byte[1];
+        for (int state = 0; state < STATES; state++) {
+            solve(state);
+        }
+    }
+
+    private WhatIfAnalytics() {
+    }
+
+    /**
+     * State of bonus frame keeps count of bonus balls left minus one as ball and all pins as standing.
+     */
+    private static int state(int frame, int ball, int standing, int nextBonuses, int secondBonuses) {
+        return (((frame * MAX_BALLS_COUNT + ball) * PINS_STATES + standing) * NEXT_BALL_BONUSES + nextBonuses) * SECOND_BALL_BONUSES + secondBonuses;
+    }
+
+    private static int state(IncrementalScorer lane) {
+        if (lane.isComplete()) {
+            return FINISHED;
+        }
+        if (lane.getFrame() == BONUS_FRAME) {
+            return state(BONUS_FRAME, lane.getBonusBallsLeft() - 1, MAXIMUM_BALL_VALUE, lane.getNextBallBonuses(), lane.getSecondBallBonuses());
+        }
+        return state(lane.getFrame(), lane.isSecondBall() ? 1 : 0, lane.getStandingPins(), lane.getNextBallBonuses(), lane.getSecondBallBonuses());
+    }
+
+    private static void solve(int state) {
+        if (minPins[state] != null) {
+            return;
+        }
+        int rest = state;
+        int secondBonuses = rest % SECOND_BALL_BONUSES;
+        rest /= SECOND_BALL_BONUSES;
+        int nextBonuses = rest % NEXT_BALL_BONUSES;
+        rest /= NEXT_BALL_BONUSES;
+        int standing = rest % PINS_STATES;
+        rest /= PINS_STATES;
+        int ball = rest % MAX_BALLS_COUNT;
+        int frame = rest / MAX_BALLS_COUNT;
+        boolean bonus = frame == BONUS_FRAME;
+
+        int[] next = new int[standing + 1];
+        int[] points = new int[standing + 1];
+        int best = 0;
+        for (int pins = MINIMUM_BALL_VALUE; pins <= standing; pins++) {
+            next[pins] = bonus ? afterBonusBall(ball, secondBonuses) : afterBall(frame, ball, standing, pins, secondBonuses);
+            points[pins] = pins * (bonus ? nextBonuses : nextBonuses + 1);
+            solve(next[pins]);
+            best = Math.max(best, points[pins] + maxPoints[next[pins]]);
+        }
+        byte[] least = new byte[best + 1];
+        for (int need = 1; need <= best; need++) {
+            int min = Integer.MAX_VALUE;
+            for (int pins = MINIMUM_BALL_VALUE; pins <= standing; pins++) {
+                int left = Math.max(0, need - points[pins]);
+                if (left <= maxPoints[next[pins]]) {
+                    min = Math.min(min, pins + minPins[next[pins]][left]);
+                }
+            }
+            least[need] = (byte) min;
+        }
+        maxPoints[state] = best;
+        minPins[state] = least;
+    }
+
+    private static int afterBonusBall(int ball, int secondBonuses) {
+        return ball == 0 ? FINISHED : state(BONUS_FRAME, ball - 1, MAXIMUM_BALL_VALUE, secondBonuses, 0);
+    }
+
+    private static int afterBall(int frame, int ball, int standing, int pins, int secondBonuses) {
+        if (ball == 0 && pins < standing) {
+            return state(frame, 1, standing - pins, secondBonuses, 0);
+        }
+        int bonuses = pins < standing ? 0 : ball == 0 ? MAX_BALLS_COUNT : 1;
+        int nextBonuses = secondBonuses + (bonuses > 0 ? 1 : 0);
+        int nextSecondBonuses = bonuses > 1 ? 1 : 0;
+        if (frame < LAST_NOTBONUS_FRAME_INDEX) {
+            return state(frame + 1, 0, MAXIMUM_BALL_VALUE, nextBonuses, nextSecondBonuses);
+        }
+        return bonuses == 0 ? FINISHED : state(BONUS_FRAME, bonuses - 1, MAXIMUM_BALL_VALUE, nextBonuses, nextSecondBonuses);
+    }
+
+    /**
+     * Final score, if all balls left are missed.
+     */
+    public static int getMinScore(IncrementalScorer lane) {
+        return lane.getScore();
+    }
+
+    /**
+     * The highest final score, which the game still can reach.
+     */
+    public static int getMaxScore(IncrementalScorer lane) {
+        return lane.getScore() + maxPoints[state(lane)];
+    }
+
+    /**
+     * The least count of pins, which should be knocked down by the balls left to finish the game with at least given score,
+     * 0 if it is already reached, or -1 if it can't be reached.
+     */
+    public static int getPinsToReach(IncrementalScorer lane, int score) {
+        int state = state(lane);
+        int need = Math.max(0, score - lane.getScore());
+        return need > maxPoints[state] ? -1 : minPins[state][need];
+    }
+
+    /**
+     * Whether the lane still can finish with greater score then the leader, who may miss all balls left.
+     */
+    public static boolean canOvertake(IncrementalScorer lane, IncrementalScorer leader) {
+        return getMaxScore(lane) > getMinScore(leader);
+    }
+
+    /**
+     * The least count of pins to finish with greater score then the leader gets by missing all balls left, or -1 if it is impossible.
+     */
+    public static int getPinsToOvertake(IncrementalScorer lane, IncrementalScorer leader) {
+        return getPinsToReach(lane, getMinScore(leader) + 1);
+    }
+
+    /**
+     * Outlook of each lane against all other ones: lane can still win, if it can finish with greater score then the best
+     * of others gets by missing all balls left. Leader and runner-up are found by one pass, so all lanes are answered in linear time.
+     */
+    public static Outlook[] outlook(IncrementalScorer... lanes) {
+        int leader = -1;
+        int best = -1;
+        int runnerUp = -1;
+        for (int i = 0; i < lanes.length; i++) {
+            int score = getMinScore(lanes[i]);
+            if (score > best) {
+                runnerUp = best;
+                best = score;
+                leader = i;
+            } else if (score > runnerUp) {
+                runnerUp = score;
+            }
+        }
+        Outlook[] outlook = new Outlook[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            IncrementalScorer lane = lanes[i];
+            int pins = getPinsToReach(lane, (i == leader ? runnerUp : best) + 1);
+            outlook[i] = new Outlook(getMinScore(lane), getMaxScore(lane), pins >= 0, pins);
+        }
+        return outlook;
+    }
+
+    /**
+     * Answers for one lane of 'outlook'. 'pinsToWin' is -1, if lane can't win anymore.
+     */
+    @Value
+    public static class Outlook {
+        int minScore;
+        int maxScore;
+        boolean canWin;
+        int pinsToWin;
+    }
+}
@@ -0,0 +1,94 @@
+package com.amarkhel.java.metrics;
+
+import lombok.Value;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies with fixed buckets: bucket i counts latencies from 2^i(inclusive) to 2^(i+1)(exclusive) nanoseconds,
+ * the first one counts latencies below 2 ns and the last one counts all latencies above 2^(BUCKETS-1) ns.
+ * Bucket is found by count of leading zeros, and each bucket is striped LongAdder, so recording is cheap
+ * and threads don't contend on it. Snapshot is not atomic: latencies recorded meanwhile may be partially counted.
+ */
+public final class LatencyHistogram {
+
+    public static final int BUCKETS = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        buckets[bucket(nanos)].increment();
+        totalNanos.add(nanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(counts, totalNanos.sum());
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+    }
+
+    static int bucket(long nanos) {
+        return nanos <= 1 ? 0 : Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Upper bound of latencies, counted in the bucket(exclusive).
+     */
+    public static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << (bucket + 1);
+    }
+
+    @Value
+    public static class Snapshot {
+        long[] counts;
+        long totalNanos;
+
+        public long getCount() {
+            long count = 0;
+            for (long bucket : counts) {
+                count += bucket;
+            }
+            return count;
+        }
+
+        public double getMeanNanos() {
+            long count = getCount();
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Upper bound of the bucket, which contains given percentile(from 0 to 100) of latencies, or 0 if nothing is recorded.
+         */
+        public long percentileNanos(double percentile) {
+            long count = getCount();
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(counts.length - 1);
+        }
+    }
+}
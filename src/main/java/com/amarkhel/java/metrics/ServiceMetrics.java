@@ -0,0 +1,185 @@
+package com.amarkhel.java.metrics;
+
+import com.amarkhel.java.ErrorCode;
+import lombok.Value;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of one service instance: count of calls, failures by error and latency histograms of the stages
+ * (parse, validate, calculate). All counters are striped LongAdders, so threads, calling the same service, don't contend.
+ * Failures with errors, reported by custom validators, are counted as OTHER_ERROR, as well as exceptions of calculation.
+ * Metrics can be read as Snapshot or through JMX, when registered with 'register'.
+ */
+public final class ServiceMetrics implements ServiceMetricsMXBean {
+
+    public static final String OTHER_ERROR = "OTHER";
+    public static final String DOMAIN = "com.amarkhel.java";
+
+    private static final ErrorCode[] ERRORS = ErrorCode.values();
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder[] failures = new LongAdder[ERRORS.length + 1];
+    private final LatencyHistogram parseLatency = new LatencyHistogram();
+    private final LatencyHistogram validateLatency = new LatencyHistogram();
+    private final LatencyHistogram calculateLatency = new LatencyHistogram();
+
+    public ServiceMetrics(String name) {
+        this.name = name;
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = new LongAdder();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void recordCall() {
+        calls.increment();
+    }
+
+    /**
+     * Records failure with given error, null means error without code.
+     */
+    public void recordFailure(ErrorCode error) {
+        failures[error != null ? error.ordinal() : ERRORS.length].increment();
+    }
+
+    public void recordParse(long nanos) {
+        parseLatency.record(nanos);
+    }
+
+    public void recordValidate(long nanos) {
+        validateLatency.record(nanos);
+    }
+
+    public void recordCalculate(long nanos) {
+        calculateLatency.record(nanos);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(calls.sum(), getFailuresByError(), parseLatency.snapshot(), validateLatency.snapshot(),
+            calculateLatency.snapshot());
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        long total = 0;
+        for (LongAdder failure : failures) {
+            total += failure.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getFailuresByError() {
+        Map<String, Long> byError = new LinkedHashMap<>();
+        for (ErrorCode error : ERRORS) {
+            byError.put(error.name(), failures[error.ordinal()].sum());
+        }
+        byError.put(OTHER_ERROR, failures[ERRORS.length].sum());
+        return byError;
+    }
+
+    @Override
+    public long getParseLatencyP50() {
+        return parseLatency.snapshot().percentileNanos(50);
+    }
+
+    @Override
+    public long getParseLatencyP99() {
+        return parseLatency.snapshot().percentileNanos(99);
+    }
+
+    @Override
+    public long getValidateLatencyP50() {
+        return validateLatency.snapshot().percentileNanos(50);
+    }
+
+    @Override
+    public long getValidateLatencyP99() {
+        return validateLatency.snapshot().percentileNanos(99);
+    }
+
+    @Override
+    public long getCalculateLatencyP50() {
+        return calculateLatency.snapshot().percentileNanos(50);
+    }
+
+    @Override
+    public long getCalculateLatencyP99() {
+        return calculateLatency.snapshot().percentileNanos(99);
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        for (LongAdder failure : failures) {
+            failure.reset();
+        }
+        parseLatency.reset();
+        validateLatency.reset();
+        calculateLatency.reset();
+    }
+
+    public ObjectName getObjectName() {
+        try {
+            return new ObjectName(DOMAIN, "name", ObjectName.quote(name));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Wrong metrics name: " + name, e);
+        }
+    }
+
+    /**
+     * Registers metrics in platform MBean server, replacing metrics registered with the same name before.
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = getObjectName();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Metrics can't be registered: " + name, e);
+        }
+    }
+
+    public void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(getObjectName())) {
+                server.unregisterMBean(getObjectName());
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Metrics can't be unregistered: " + name, e);
+        }
+    }
+
+    @Value
+    public static class Snapshot {
+        long calls;
+        Map<String, Long> failuresByError;
+        LatencyHistogram.Snapshot parseLatency;
+        LatencyHistogram.Snapshot validateLatency;
+        LatencyHistogram.Snapshot calculateLatency;
+
+        public long getFailures() {
+            return failuresByError.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
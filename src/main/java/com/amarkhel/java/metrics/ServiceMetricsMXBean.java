@@ -0,0 +1,29 @@
+package com.amarkhel.java.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of ServiceMetrics. Latency percentiles are upper bounds of histogram buckets in nanoseconds.
+ */
+public interface ServiceMetricsMXBean {
+
+    long getCalls();
+
+    long getFailures();
+
+    Map<String, Long> getFailuresByError();
+
+    long getParseLatencyP50();
+
+    long getParseLatencyP99();
+
+    long getValidateLatencyP50();
+
+    long getValidateLatencyP99();
+
+    long getCalculateLatencyP50();
+
+    long getCalculateLatencyP99();
+
+    void reset();
+}
@@ -4,10 +4,25 @@ import com.amarkhel.java.ParseException;
 import lombok.*;
 import static com.amarkhel.java.Calculation.*;
 
+/**
+ * Balls are immutable values and there are only few dozens of distinct correct ones,
+ * so factories return interned instances instead of creating new ones. Balls with incorrect pins are not interned.
+ */
 @Value
 public final class Ball {
 
-    private static final String SPARE_FRAME_BONUS_ERROR = "Bonus ball can't be spare";
+    public static final String SPARE_FRAME_BONUS_ERROR = "Bonus ball can't be spare";
+
+    private static final int FLAGS_COMBINATIONS = 8;
+    private static final Ball[] INTERNED = new Ball[(MAXIMUM_BALL_VALUE + 1) * FLAGS_COMBINATIONS];
+
+    static {
+        for (int pins = MINIMUM_BALL_VALUE; pins <= MAXIMUM_BALL_VALUE; pins++) {
+            for (int flags = 0; flags < FLAGS_COMBINATIONS; flags++) {
+                INTERNED[pins * FLAGS_COMBINATIONS + flags] = new Ball(pins, (flags & 4) != 0, (flags & 2) != 0, (flags & 1) != 0);
+            }
+        }
+    }
 
     private final int pins;
     private final boolean isBonus;
@@ -18,8 +33,15 @@ public final class Ball {
         return pins >= MINIMUM_BALL_VALUE && pins <= MAXIMUM_BALL_VALUE;
     }
 
+    public static Ball of(int pins, boolean isBonus, boolean isSpare, boolean isStrike) {
+        if (pins < MINIMUM_BALL_VALUE || pins > MAXIMUM_BALL_VALUE) {
+            return new Ball(pins, isBonus, isSpare, isStrike);
+        }
+        return INTERNED[pins * FLAGS_COMBINATIONS + (isBonus ? 4 : 0) + (isSpare ? 2 : 0) + (isStrike ? 1 : 0)];
+    }
+
     public static Ball miss(boolean isBonus) {
-        return new Ball(MINIMUM_BALL_VALUE, isBonus, false, false);
+        return of(MINIMUM_BALL_VALUE, isBonus, false, false);
     }
 
     public static Ball spare(int pins, boolean isBonus) {
@@ -27,15 +49,15 @@ public final class Ball {
             throw new ParseException(SPARE_FRAME_BONUS_ERROR);
         }
         else {
-            return new Ball(pins, false, true, false);
+            return of(pins, false, true, false);
         }
     }
 
     public static Ball strike(boolean isBonus) {
-        return new Ball(MAXIMUM_BALL_VALUE, isBonus, false, !isBonus);
+        return of(MAXIMUM_BALL_VALUE, isBonus, false, !isBonus);
     }
 
     public static Ball usual(int pins, boolean isBonus) {
-        return new Ball(pins, isBonus, false, false);
+        return of(pins, isBonus, false, false);
     }
 }
\ No newline at end of file
@@ -1,47 +1,73 @@
 package com.amarkhel.java.model;
 
-import lombok.Value;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.List;
-import java.util.function.Predicate;
 
 import static com.amarkhel.java.Calculation.FRAME_BALLS_MAX_SUM;
 import static com.amarkhel.java.Calculation.MINIMUM_BALL_VALUE;
 
-@Value
+/**
+ * Frame is immutable, so its flags and total are calculated once, when frame is created.
+ */
+@EqualsAndHashCode(of = "balls")
+@ToString(of = "balls")
 public final class Frame {
 
     private final List<Ball> balls;
+    private final boolean bonus;
+    private final boolean spare;
+    private final boolean strike;
+    private final int total;
+
+    public Frame(List<Ball> balls) {
+        this.balls = balls;
+        boolean bonus = false;
+        boolean spare = false;
+        boolean strike = false;
+        int total = 0;
+        for (Ball ball : balls) {
+            bonus |= ball.isBonus();
+            spare |= ball.isSpare();
+            strike |= ball.isStrike();
+            total += ball.getPins();
+        }
+        this.bonus = bonus;
+        this.spare = spare;
+        this.strike = strike;
+        this.total = total;
+    }
+
+    public List<Ball> getBalls() {
+        return balls;
+    }
 
     public boolean isMaxEarned() {
-        return isSpare() || isStrike();
+        return spare || strike;
     }
 
     public boolean isSpecial() {
-        return isMaxEarned() || isBonus();
+        return isMaxEarned() || bonus;
     }
 
     public boolean isBonus() {
-        return having(Ball::isBonus);
+        return bonus;
     }
 
     public boolean isSpare() {
-        return having(Ball::isSpare);
+        return spare;
     }
 
     public boolean isStrike() {
-        return having(Ball::isStrike);
+        return strike;
     }
 
     public int getTotal() {
-        return balls.stream().mapToInt(Ball::getPins).sum();
+        return total;
     }
 
     public boolean haveCorrectSum() {
-        return getTotal() >= MINIMUM_BALL_VALUE && getTotal() <= FRAME_BALLS_MAX_SUM;
-    }
-
-    private boolean having(Predicate<Ball> predicate) {
-        return balls.stream().anyMatch(predicate);
+        return total >= MINIMUM_BALL_VALUE && total <= FRAME_BALLS_MAX_SUM;
     }
-}
\ No newline at end of file
+}
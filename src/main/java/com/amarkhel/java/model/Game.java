@@ -1,21 +1,80 @@
 package com.amarkhel.java.model;
 
-import lombok.Value;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-import static java.util.stream.Collectors.toList;
-
-@Value
+/**
+ * Game keeps pins of all its balls in flat array, built once, when game is created.
+ * Lists of balls and rolls are views, created on the first call only.
+ */
+@EqualsAndHashCode(of = "frames")
+@ToString(of = "frames")
 public final class Game {
 
     private final List<Frame> frames;
+    private final int[] rolls;
+    private volatile List<Ball> balls;
+    private volatile List<Integer> rollsView;
+
+    public Game(List<Frame> frames) {
+        this.frames = frames;
+        int count = 0;
+        for (Frame frame : frames) {
+            count += frame.getBalls().size();
+        }
+        rolls = new int[count];
+        int index = 0;
+        for (Frame frame : frames) {
+            for (Ball ball : frame.getBalls()) {
+                rolls[index++] = ball.getPins();
+            }
+        }
+    }
+
+    public List<Frame> getFrames() {
+        return frames;
+    }
 
     public List<Ball> getBalls() {
-        return frames.stream().map(Frame::getBalls).flatMap(List::stream).collect(toList());
+        List<Ball> balls = this.balls;
+        if (balls == null) {
+            List<Ball> all = new ArrayList<>(rolls.length);
+            frames.forEach(frame -> all.addAll(frame.getBalls()));
+            balls = Collections.unmodifiableList(all);
+            this.balls = balls;
+        }
+        return balls;
     }
 
     public List<Integer> getRolls() {
-        return getBalls().stream().map(Ball::getPins).collect(toList());
+        List<Integer> rollsView = this.rollsView;
+        if (rollsView == null) {
+            rollsView = new AbstractList<Integer>() {
+                @Override
+                public Integer get(int index) {
+                    return rolls[index];
+                }
+
+                @Override
+                public int size() {
+                    return rolls.length;
+                }
+            };
+            this.rollsView = rollsView;
+        }
+        return rollsView;
+    }
+
+    public int getRoll(int index) {
+        return rolls[index];
+    }
+
+    public int getRollsCount() {
+        return rolls.length;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,373 @@
+package com.amarkhel.java.store;
+
+import com.amarkhel.java.Calculation;
+import com.amarkhel.java.PackedCalculation;
+import com.amarkhel.java.PackedGame;
+import com.amarkhel.java.validator.Validator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ Persistent append-only log of correct games, which can be replayed through any Calculation or Validator, when rules are changed.
+
+ Layout:
+ 1) Each game is a fixed-width record of RECORD_SIZE bytes: packed balls(see 'PackedGame'), timestamp, bowler and checksum.
+    Id of the game is its number in the log, so record is found by id without any lookup.
+ 2) Records are written through memory-mapped segment files of 'segmentRecords' records, new segment is created,
+    when the last one is full.
+ 3) Sparse index keeps the lowest and the highest timestamp of each block of INDEX_BLOCK records, so time range query reads only
+    blocks, which may contain matching games. Entry is appended to the index file, when block is full.
+
+ Recovery after crash starts from the end of the last indexed block, which last record is correct, and reads records till the first
+ one with wrong checksum, so only the tail written after the last index entry is scanned. Garbage after the tail is cleared,
+ so it can't be taken for records later. Records are in page cache of OS after append and survive crash of the process,
+ 'force' writes them to the disk.
+
+ Appends are serialized, reads can run concurrently with them: record becomes visible only after it is completely written.
+ */
+public final class GameStore implements Closeable {
+
+    public static final int RECORD_SIZE = 32;
+    public static final int INDEX_BLOCK = 1024;
+    public static final int DEFAULT_SEGMENT_RECORDS = 1 << 20;
+
+    private static final int LOW = 0;
+    private static final int HIGH = 8;
+    private static final int TIMESTAMP = 16;
+    private static final int BOWLER = 24;
+    private static final int CHECKSUM = 28;
+    private static final int INDEX_ENTRY_SIZE = 2 * Long.BYTES;
+    private static final String SEGMENT_FORMAT = "%08d.segment";
+    private static final String INDEX_FILE = "index";
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final FileChannel index;
+    private final ByteBuffer indexEntry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+    private final List<FileChannel> channels = new ArrayList<>();
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    //lowest and highest timestamps of indexed blocks, one after another
+    private volatile long[] times = new long[2 * 64];
+    private volatile long indexedBlocks;
+    private volatile long size;
+    private volatile boolean closed;
+
+    private GameStore(Path directory, int segmentRecords) throws IOException {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        Files.createDirectories(directory);
+        index = FileChannel.open(directory.resolve(INDEX_FILE), CREATE, READ, WRITE);
+    }
+
+    public static GameStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_RECORDS);
+    }
+
+    /**
+     * Opens store in the directory, creating it if needed, and recovers its tail. 'segmentRecords' should be the same,
+     * as store was created with.
+     */
+    public static GameStore open(Path directory, int segmentRecords) throws IOException {
+        if (segmentRecords <= 0 || segmentRecords % INDEX_BLOCK != 0 || (long) segmentRecords * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment records should be positive multiple of " + INDEX_BLOCK + " and fit into 2GB");
+        }
+        GameStore store = new GameStore(directory, segmentRecords);
+        try {
+            store.recover();
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    private void recover() throws IOException {
+        for (int i = 0; Files.exists(segmentPath(i)); i++) {
+            if (Files.size(segmentPath(i)) != segmentBytes()) {
+                throw new IOException("Segment " + segmentPath(i) + " should have size " + segmentBytes());
+            }
+            addSegment();
+        }
+        long blocks = Math.min(index.size() / INDEX_ENTRY_SIZE, capacity() / INDEX_BLOCK);
+        while (blocks > 0 && !isCorrect(blocks * INDEX_BLOCK - 1)) {
+            blocks--;
+        }
+        ByteBuffer entries = ByteBuffer.allocate((int) blocks * INDEX_ENTRY_SIZE);
+        while (entries.hasRemaining()) {
+            index.read(entries, entries.position());
+        }
+        index.truncate(blocks * INDEX_ENTRY_SIZE);
+        long[] indexed = new long[(int) Math.max(times.length, 2 * blocks)];
+        entries.flip();
+        entries.asLongBuffer().get(indexed, 0, (int) (2 * blocks));
+        times = indexed;
+        indexedBlocks = blocks;
+
+        long end = blocks * INDEX_BLOCK;
+        while (end < capacity() && isCorrect(end)) {
+            end++;
+        }
+        for (long id = end; id < capacity() && !isEmpty(id); id++) {
+            clear(id);
+        }
+        size = end;
+        for (long block = blocks; block < end / INDEX_BLOCK; block++) {
+            indexBlock(block);
+        }
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format(SEGMENT_FORMAT, segment));
+    }
+
+    private long segmentBytes() {
+        return (long) segmentRecords * RECORD_SIZE;
+    }
+
+    private long capacity() {
+        return (long) segments.length * segmentRecords;
+    }
+
+    private void addSegment() throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(segments.length), CREATE, READ, WRITE);
+        channels.add(channel);
+        MappedByteBuffer[] extended = Arrays.copyOf(segments, segments.length + 1);
+        extended[segments.length] = channel.map(READ_WRITE, 0, segmentBytes());
+        segments = extended;
+    }
+
+    private ByteBuffer segment(long id) {
+        return segments[(int) (id / segmentRecords)];
+    }
+
+    private int offset(long id) {
+        return (int) (id % segmentRecords) * RECORD_SIZE;
+    }
+
+    /**
+     * Checksum covers id, so record can't be taken for record of other place. It is never 0, so cleared record is never correct.
+     */
+    private static int checksum(long id, long low, long high, long timestamp, int bowler) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ low) * 0xC2B2AE3D27D4EB4FL;
+        hash = (hash ^ high) * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ timestamp) * 0xC2B2AE3D27D4EB4FL;
+        hash = (hash ^ bowler) * 0x9E3779B97F4A7C15L;
+        int checksum = (int) (hash ^ (hash >>> 32));
+        return checksum == 0 ? 1 : checksum;
+    }
+
+    private boolean isCorrect(long id) {
+        ByteBuffer segment = segment(id);
+        int offset = offset(id);
+        return segment.getInt(offset + CHECKSUM) == checksum(id, segment.getLong(offset + LOW), segment.getLong(offset + HIGH),
+            segment.getLong(offset + TIMESTAMP), segment.getInt(offset + BOWLER));
+    }
+
+    private boolean isEmpty(long id) {
+        ByteBuffer segment = segment(id);
+        int offset = offset(id);
+        for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+            if (segment.getLong(offset + i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void clear(long id) {
+        ByteBuffer segment = segment(id);
+        int offset = offset(id);
+        for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+            segment.putLong(offset + i, 0);
+        }
+    }
+
+    private void indexBlock(long block) throws IOException {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long id = block * INDEX_BLOCK; id < (block + 1) * INDEX_BLOCK; id++) {
+            long timestamp = segment(id).getLong(offset(id) + TIMESTAMP);
+            min = Math.min(min, timestamp);
+            max = Math.max(max, timestamp);
+        }
+        indexEntry.clear();
+        indexEntry.putLong(min).putLong(max).flip();
+        while (indexEntry.hasRemaining()) {
+            index.write(indexEntry, block * INDEX_ENTRY_SIZE + indexEntry.position());
+        }
+        long[] indexed = times;
+        if (indexed.length < 2 * (block + 1)) {
+            indexed = Arrays.copyOf(indexed, indexed.length * 2);
+        }
+        indexed[(int) (2 * block)] = min;
+        indexed[(int) (2 * block + 1)] = max;
+        times = indexed;
+        indexedBlocks = block + 1;
+    }
+
+    /**
+     * Appends game without metadata, returns its id.
+     */
+    public long append(PackedGame game) throws IOException {
+        return append(game, 0, 0);
+    }
+
+    /**
+     * Parses and validates game in text format, then appends it. Returns its id.
+     */
+    public long append(String game, int bowler, long timestamp) throws Exception {
+        return append(PackedGame.parse(game), bowler, timestamp);
+    }
+
+    public synchronized long append(PackedGame game, int bowler, long timestamp) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Store is closed");
+        }
+        long id = size;
+        if (id == capacity()) {
+            addSegment();
+        }
+        ByteBuffer segment = segment(id);
+        int offset = offset(id);
+        segment.putLong(offset + LOW, game.getLow());
+        segment.putLong(offset + HIGH, game.getHigh());
+        segment.putLong(offset + TIMESTAMP, timestamp);
+        segment.putInt(offset + BOWLER, bowler);
+        segment.putInt(offset + CHECKSUM, checksum(id, game.getLow(), game.getHigh(), timestamp, bowler));
+        size = id + 1;
+        if (size % INDEX_BLOCK == 0) {
+            indexBlock(id / INDEX_BLOCK);
+        }
+        return id;
+    }
+
+    /**
+     * Count of games, ids of games are from 0 till size - 1.
+     */
+    public long size() {
+        return size;
+    }
+
+    public StoredGame get(long id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Id " + id + " is out of store of " + size + " games");
+        }
+        ByteBuffer segment = segment(id);
+        int offset = offset(id);
+        return new StoredGame(id, segment.getInt(offset + BOWLER), segment.getLong(offset + TIMESTAMP),
+            new PackedGame(segment.getLong(offset + LOW), segment.getLong(offset + HIGH)));
+    }
+
+    private PackedGame packed(long id) {
+        ByteBuffer segment = segment(id);
+        int offset = offset(id);
+        return new PackedGame(segment.getLong(offset + LOW), segment.getLong(offset + HIGH));
+    }
+
+    private void checkRange(long fromId, long toId) {
+        if (fromId < 0 || fromId > toId || toId > size) {
+            throw new IndexOutOfBoundsException("Range [" + fromId + ", " + toId + ") is out of store of " + size + " games");
+        }
+    }
+
+    /**
+     * Passes games with ids from 'fromId'(inclusive) till 'toId'(exclusive) to consumer in order of ids.
+     */
+    public void forEach(long fromId, long toId, Consumer<StoredGame> consumer) {
+        checkRange(fromId, toId);
+        for (long id = fromId; id < toId; id++) {
+            consumer.accept(get(id));
+        }
+    }
+
+    /**
+     * Passes games with timestamps from 'fromTime'(inclusive) till 'toTime'(exclusive) to consumer in order of ids.
+     * Indexed blocks, which timestamps don't intersect the range, are skipped, the last not indexed block is always read.
+     */
+    public void forEachBetween(long fromTime, long toTime, Consumer<StoredGame> consumer) {
+        long end = size;
+        long blocks = indexedBlocks;
+        long[] indexed = times;
+        for (long block = 0; block * INDEX_BLOCK < end; block++) {
+            if (block < blocks && (indexed[(int) (2 * block + 1)] < fromTime || indexed[(int) (2 * block)] >= toTime)) {
+                continue;
+            }
+            for (long id = block * INDEX_BLOCK; id < Math.min(end, (block + 1) * INDEX_BLOCK); id++) {
+                long timestamp = segment(id).getLong(offset(id) + TIMESTAMP);
+                if (timestamp >= fromTime && timestamp < toTime) {
+                    consumer.accept(get(id));
+                }
+            }
+        }
+    }
+
+    /**
+     * Scores games with ids from 'fromId' till 'toId' by calculation in parallel, result of game is at index 'id - fromId'.
+     * Calculation should be thread-safe. Packed calculation scores stored games directly, others get them converted to Game.
+     */
+    public int[] replay(Calculation calculation, long fromId, long toId) {
+        checkRange(fromId, toId);
+        int[] scores = new int[Math.toIntExact(toId - fromId)];
+        if (calculation instanceof PackedCalculation) {
+            PackedCalculation packed = (PackedCalculation) calculation;
+            IntStream.range(0, scores.length).parallel().forEach(i -> scores[i] = packed.score(packed(fromId + i)));
+        } else {
+            IntStream.range(0, scores.length).parallel().forEach(i -> scores[i] = calculation.score(packed(fromId + i).toGame()));
+        }
+        return scores;
+    }
+
+    /**
+     * Validates games with ids from 'fromId' till 'toId' in parallel, returns ids of games, which validator rejects, in ascending order.
+     */
+    public long[] invalid(Validator validator, long fromId, long toId) {
+        checkRange(fromId, toId);
+        return LongStream.range(fromId, toId).parallel()
+            .filter(id -> validator.validate(packed(id).toGame().getFrames()).isPresent())
+            .toArray();
+    }
+
+    /**
+     * Writes appended games and index to the disk.
+     */
+    public synchronized void force() throws IOException {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        index.force(false);
+    }
+
+    /**
+     * Forces store to the disk and closes its files. Mapped segments are released by garbage collector.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        force();
+        for (FileChannel channel : channels) {
+            channel.close();
+        }
+        index.close();
+    }
+}
@@ -0,0 +1,15 @@
+package com.amarkhel.java.store;
+
+import com.amarkhel.java.PackedGame;
+import lombok.Value;
+
+/**
+ * Game read from GameStore with its id(number in the log) and metadata. Bowler and timestamp are 0, if they were not passed.
+ */
+@Value
+public class StoredGame {
+    long id;
+    int bowler;
+    long timestamp;
+    PackedGame game;
+}
@@ -0,0 +1,122 @@
+package com.amarkhel.java.validator;
+
+import com.amarkhel.java.RuleProfile;
+import com.amarkhel.java.model.Ball;
+import com.amarkhel.java.model.Frame;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.amarkhel.java.Calculation.MINIMUM_BALL_VALUE;
+
+/**
+ * This implementation checks the rules of FullValidator, generalized for any RuleProfile, in a single pass like SinglePassValidator:
+ * count of frames, pins and balls per frame are taken from profile, first ball with at least 'strikePins' pins is strike,
+ * spare should be the last ball of its frame, and bonus frame should contain as many balls as the last frame earned
+ * (see 'RuleProfile.bonusBalls'). Errors have the same priority and the same messages, filled with values of profile,
+ * so for standard profile they are equal to errors of FullValidator.
+ */
+public final class ProfileValidator implements Validator {
+
+    private static final int BALL_PINS_FAILURE = 1;
+    private static final int FRAME_SUM_FAILURE = 1 << 1;
+    private static final int STRIKE_FRAME_FAILURE = 1 << 2;
+    private static final int SPARE_FRAME_FAILURE = 1 << 3;
+    private static final int USUAL_FRAME_FAILURE = 1 << 4;
+    //spare can't clear pins earlier then by the second ball
+    private static final int SPARE_BALL = 2;
+
+    private final int frames;
+    private final int pins;
+    private final int ballsPerFrame;
+    private final int strikePins;
+    private final String bonusFrameShouldExistError;
+    private final String countFrameError;
+    private final String bonusFrameIncorrect;
+    private final String[] frameErrors;
+
+    public ProfileValidator(RuleProfile profile) {
+        frames = profile.getFrames();
+        pins = profile.getPins();
+        ballsPerFrame = profile.getBallsPerFrame();
+        strikePins = profile.getStrikePins();
+        bonusFrameShouldExistError = String.format("If %dth frame is strike or spare, then bonus frame should present", frames);
+        countFrameError = String.format("Count of non-bonus frames should be equal to %d", frames);
+        bonusFrameIncorrect = String.format("If previous frame was Spare, then bonus frame should contain %d ball. If previous frame was Strike, then bonus frame should contain exactly %d balls",
+            RuleProfile.bonusBalls(2), RuleProfile.bonusBalls(1));
+        frameErrors = new String[] {
+            String.format("Pins of each ball shouldn't be less then %d and greater then %d", MINIMUM_BALL_VALUE, pins),
+            String.format("Sum of pins for each frame shouldn't be great then %d", pins),
+            String.format("Strike frame should contain only one ball and it pins should be %d", strikePins),
+            String.format("Spare frame should contain %d balls and sum of its pins should be equal to %d", ballsPerFrame, pins),
+            String.format("Non-spare and non-strike frames should contain exactly %d balls and its sum should be less then %d", ballsPerFrame, pins)
+        };
+    }
+
+    @Override
+    public Optional<String> validate(List<Frame> frames) {
+        int count = frames.size();
+        int notBonusFrames = 0;
+        int failures = 0;
+        boolean lastNotBonusStrike = false;
+        int lastNotBonusSpareBonus = -1;
+        for (int i = 0; i < count; i++) {
+            Frame frame = frames.get(i);
+            List<Ball> balls = frame.getBalls();
+            int size = balls.size();
+            int total = 0;
+            boolean correct = true;
+            int spareAt = -1;
+            for (int j = 0; j < size; j++) {
+                Ball ball = balls.get(j);
+                total += ball.getPins();
+                correct &= ball.getPins() >= MINIMUM_BALL_VALUE && ball.getPins() <= pins;
+                if (ball.isSpare() && spareAt < 0) {
+                    spareAt = j;
+                }
+            }
+            int first = size > 0 ? balls.get(0).getPins() : 0;
+            if (!correct) {
+                failures |= BALL_PINS_FAILURE;
+            }
+            if (!frame.isBonus() && (total < MINIMUM_BALL_VALUE || total > pins)) {
+                failures |= FRAME_SUM_FAILURE;
+            }
+            if (frame.isStrike() && !(size == 1 && first >= strikePins)) {
+                failures |= STRIKE_FRAME_FAILURE;
+            }
+            if (frame.isSpare() && !(spareAt > 0 && spareAt == size - 1 && size <= ballsPerFrame && total == pins && first < strikePins)) {
+                failures |= SPARE_FRAME_FAILURE;
+            }
+            if (!frame.isSpecial() && !(size == ballsPerFrame && total < pins)) {
+                failures |= USUAL_FRAME_FAILURE;
+            }
+            if (!frame.isBonus()) {
+                notBonusFrames++;
+            }
+            if (i == this.frames - 1) {
+                lastNotBonusStrike = frame.isStrike();
+                lastNotBonusSpareBonus = frame.isSpare() ? RuleProfile.bonusBalls(Math.max(SPARE_BALL, Math.min(spareAt + 1, ballsPerFrame))) : -1;
+            }
+        }
+        if (notBonusFrames != this.frames) {
+            return Optional.of(countFrameError);
+        }
+        boolean bonusEarned = lastNotBonusStrike || lastNotBonusSpareBonus > 0;
+        if (bonusEarned && count != this.frames + 1) {
+            return Optional.of(bonusFrameShouldExistError);
+        }
+        Frame last = frames.get(count - 1);
+        if (last.isBonus()) {
+            int size = last.getBalls().size();
+            boolean correct = last.getBalls().stream().allMatch(ball -> ball.getPins() >= MINIMUM_BALL_VALUE && ball.getPins() <= pins);
+            if (!(correct && (lastNotBonusStrike && size == RuleProfile.bonusBalls(1) || lastNotBonusSpareBonus > 0 && size == lastNotBonusSpareBonus))) {
+                return Optional.of(bonusFrameIncorrect);
+            }
+        }
+        if (failures != 0) {
+            return Optional.of(frameErrors[Integer.numberOfTrailingZeros(failures)]);
+        }
+        return Optional.empty();
+    }
+}
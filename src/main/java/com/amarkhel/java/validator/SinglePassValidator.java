@@ -0,0 +1,99 @@
+package com.amarkhel.java.validator;
+
+import com.amarkhel.java.model.Ball;
+import com.amarkhel.java.model.Frame;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.amarkhel.java.Calculation.*;
+
+/**
+ * This implementation checks the same rules as FullValidator and reports the same first error,
+ * but visits each frame and each ball only once and creates no streams.
+ * Per-frame rules are evaluated together for each frame, failed ones are remembered as bits in the mask(bit number is
+ * rule priority), and the frames needed by game-level rules are remembered on the way.
+ * Then game-level rules are checked and, if all of them passed, the error of the failed per-frame rule with highest priority is returned.
+ */
+public final class SinglePassValidator implements Validator {
+
+    private static final int BALL_PINS_FAILURE = 1;
+    private static final int FRAME_SUM_FAILURE = 1 << 1;
+    private static final int STRIKE_FRAME_FAILURE = 1 << 2;
+    private static final int SPARE_FRAME_FAILURE = 1 << 3;
+    private static final int USUAL_FRAME_FAILURE = 1 << 4;
+    private static final String[] FRAME_ERRORS = {
+        BALL_COUNT_PINS_ERROR, PIN_SUM_FRAME_ERROR, STRIKE_FRAME_INCORRECT, SPARE_FRAME_INCORRECT, FRAME_INCORRECT
+    };
+
+    @Override
+    public Optional<String> validate(List<Frame> frames) {
+        int count = frames.size();
+        int notBonusFrames = 0;
+        int failures = 0;
+        boolean lastNotBonusStrike = false;
+        boolean lastNotBonusSpare = false;
+        boolean lastBonus = false;
+        int lastSize = 0;
+        boolean lastCorrect = false;
+        for (int i = 0; i < count; i++) {
+            List<Ball> balls = frames.get(i).getBalls();
+            int size = balls.size();
+            int total = 0;
+            boolean bonus = false;
+            boolean strike = false;
+            boolean spare = false;
+            boolean correct = true;
+            for (int j = 0; j < size; j++) {
+                Ball ball = balls.get(j);
+                total += ball.getPins();
+                bonus |= ball.isBonus();
+                strike |= ball.isStrike();
+                spare |= ball.isSpare();
+                correct &= ball.isCorrect();
+            }
+            int first = size > 0 ? balls.get(0).getPins() : 0;
+            if (!correct) {
+                failures |= BALL_PINS_FAILURE;
+            }
+            if (!bonus && (total < MINIMUM_BALL_VALUE || total > FRAME_BALLS_MAX_SUM)) {
+                failures |= FRAME_SUM_FAILURE;
+            }
+            if (strike && !(size == MAX_BALLS_COUNT - 1 && first == MAXIMUM_BALL_VALUE)) {
+                failures |= STRIKE_FRAME_FAILURE;
+            }
+            if (spare && !(size == MAX_BALLS_COUNT && total == FRAME_BALLS_MAX_SUM && first < MAXIMUM_BALL_VALUE)) {
+                failures |= SPARE_FRAME_FAILURE;
+            }
+            if (!spare && !strike && !bonus && !(size == MAX_BALLS_COUNT && total < FRAME_BALLS_MAX_SUM)) {
+                failures |= USUAL_FRAME_FAILURE;
+            }
+            if (!bonus) {
+                notBonusFrames++;
+            }
+            if (i == LAST_NOTBONUS_FRAME_INDEX) {
+                lastNotBonusStrike = strike;
+                lastNotBonusSpare = spare;
+            }
+            if (i == count - 1) {
+                lastBonus = bonus;
+                lastSize = size;
+                lastCorrect = correct;
+            }
+        }
+        if (notBonusFrames != COUNT_FRAMES) {
+            return Optional.of(COUNT_FRAME_ERROR);
+        }
+        if ((lastNotBonusStrike || lastNotBonusSpare) && count != COUNT_FRAMES + 1) {
+            return Optional.of(BONUS_FRAME_SHOULD_EXIST_ERROR);
+        }
+        if (lastBonus && !(lastNotBonusSpare && lastSize == MAX_BALLS_COUNT - 1 && lastCorrect ||
+                           lastNotBonusStrike && lastSize == MAX_BALLS_COUNT && lastCorrect)) {
+            return Optional.of(BONUS_FRAME_INCORRECT);
+        }
+        if (failures != 0) {
+            return Optional.of(FRAME_ERRORS[Integer.numberOfTrailingZeros(failures)]);
+        }
+        return Optional.empty();
+    }
+}
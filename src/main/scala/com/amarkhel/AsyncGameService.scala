@@ -0,0 +1,169 @@
+package com.amarkhel
+
+import _root_.java.util.concurrent.atomic.LongAdder
+import _root_.java.util.concurrent.{ArrayBlockingQueue, RejectedExecutionException, Semaphore}
+import _root_.java.util.{ArrayList => JArrayList}
+
+import com.amarkhel.java.metrics.LatencyHistogram
+
+import scala.concurrent.{Future, Promise}
+import scala.util.control.NonFatal
+import scala.util.{Failure, Success, Try}
+
+/**
+  * Asynchronous facade of GameService: callers get Future immediately and games are scored by own pool of workers.
+  * 1) Count of in-flight requests(queued and being scored) is bounded by 'capacity'. When it is reached, new request is handled
+  *    by Overflow policy: rejected(future fails with RejectedExecutionException), blocks caller until there is space,
+  *    or is scored in the calling thread.
+  * 2) Worker takes all queued requests, up to 'maxBatch', and scores them in one pass.
+  * 3) Queue depth, in-flight count, rejections, batch sizes and time, which requests wait in the queue, are reported.
+  * Closing the service stops accepting requests, but already accepted ones are scored. Request, which is enqueued
+  * concurrently with closing, is scored by its caller, if workers and close() have already missed it.
+  */
+class AsyncGameService(service:GameService, threads:Int, capacity:Int, maxBatch:Int, overflow:AsyncGameService.Overflow) extends AutoCloseable {
+  import AsyncGameService._
+
+  require(threads > 0 && capacity > 0 && maxBatch > 0, "Threads, capacity and batch size should be positive")
+
+  private val permits = new Semaphore(capacity)
+  private val queue = new ArrayBlockingQueue[Request](capacity)
+  private val waitLatency = new LatencyHistogram
+  private val rejected = new LongAdder
+  private val batches = new LongAdder
+  private val batched = new LongAdder
+  @volatile private var closed = false
+
+  private val workers = Array.tabulate(threads) { i =>
+    val worker = new Thread(() => work(), "async-scala-game-service-" + i)
+    worker.setDaemon(true)
+    worker.start()
+    worker
+  }
+
+  /**
+    * Future fails with InputException, when input is incorrect.
+    */
+  def calculateScore(input:String) : Future[Int] = {
+    val promise = Promise[Int]()
+    submit(input, result => promise.complete(result.flatMap(_.fold(error => Failure(new InputException(error)), Success(_)))))
+    promise.future
+  }
+
+  def tryCalculateScore(input:String) : Future[Either[String, Int]] = {
+    val promise = Promise[Either[String, Int]]()
+    submit(input, result => promise.complete(result))
+    promise.future
+  }
+
+  private def submit(input:String, complete:Try[Either[String, Int]] => Unit) : Unit = {
+    if (closed) reject(complete)
+    else if (permits.tryAcquire()) enqueue(input, complete)
+    else overflow match {
+      case CallerRuns => complete(Success(service.tryCalculateScore(input)))
+      case Block =>
+        try {
+          permits.acquire()
+          if (closed) {
+            permits.release()
+            reject(complete)
+          } else enqueue(input, complete)
+        } catch {
+          case e:InterruptedException =>
+            Thread.currentThread().interrupt()
+            complete(Failure(e))
+        }
+      case Reject => reject(complete)
+    }
+  }
+
+  private def enqueue(input:String, complete:Try[Either[String, Int]] => Unit) : Unit = {
+    val request = Request(input, complete, System.nanoTime())
+    //permit guarantees space in the queue
+    queue.add(request)
+    //service could be closed and drained after 'closed' was checked, then nobody else takes the request
+    if (closed && queue.remove(request)) {
+      val rest = new JArrayList[Request](1)
+      rest.add(request)
+      score(rest)
+    }
+  }
+
+  private def reject(complete:Try[Either[String, Int]] => Unit) = {
+    rejected.increment()
+    complete(Failure(new RejectedExecutionException(if (closed) "Service is closed" else "Too many requests in flight")))
+  }
+
+  private def work() : Unit = {
+    val batch = new JArrayList[Request](maxBatch)
+    try {
+      while (!closed) {
+        batch.add(queue.take())
+        queue.drainTo(batch, maxBatch - 1)
+        score(batch)
+        batch.clear()
+      }
+    } catch {
+      case _:InterruptedException => Thread.currentThread().interrupt()
+    }
+  }
+
+  private def score(batch:JArrayList[Request]) : Unit = {
+    val now = System.nanoTime()
+    var i = 0
+    while (i < batch.size) {
+      waitLatency.record(now - batch.get(i).enqueued)
+      i += 1
+    }
+    batches.increment()
+    batched.add(batch.size)
+    i = 0
+    while (i < batch.size) {
+      val request = batch.get(i)
+      try request.complete(Try(service.tryCalculateScore(request.input))) catch {
+        case NonFatal(_) => //callback of the caller failed, the rest of the batch should be scored anyway
+      } finally permits.release()
+      i += 1
+    }
+  }
+
+  def queueDepth : Int = queue.size
+
+  def inFlight : Int = capacity - permits.availablePermits
+
+  def rejectedCount : Long = rejected.sum
+
+  def batchCount : Long = batches.sum
+
+  def averageBatchSize : Double = {
+    val count = batchCount
+    if (count == 0) 0 else batched.sum.toDouble / count
+  }
+
+  /**
+    * Time from submitting request till worker takes it.
+    */
+  def waitLatencySnapshot : LatencyHistogram.Snapshot = waitLatency.snapshot
+
+  /**
+    * Stops accepting requests and waits, while workers score already accepted ones. Idle workers are blocked
+    * in the queue, so they are interrupted, busy ones finish their batch and stop on the next take.
+    */
+  override def close() : Unit = {
+    closed = true
+    workers.foreach(_.interrupt())
+    workers.foreach(_.join())
+    //requests, which were not taken by stopped workers
+    val rest = new JArrayList[Request]()
+    queue.drainTo(rest)
+    if (!rest.isEmpty) score(rest)
+  }
+}
+
+object AsyncGameService {
+  sealed trait Overflow
+  case object Reject extends Overflow
+  case object Block extends Overflow
+  case object CallerRuns extends Overflow
+
+  private case class Request(input:String, complete:Try[Either[String, Int]] => Unit, enqueued:Long)
+}
@@ -0,0 +1,84 @@
+package com.amarkhel
+
+import _root_.java.util.concurrent.atomic.LongAdder
+import _root_.java.util.{LinkedHashMap, Map => JMap}
+
+/**
+  * This class memoizes results of wrapped GameService: both scores of correct games and errors of incorrect ones.
+  * Only InputException is memoized as error, other failures(e.g. of calculation without validator) are not cached.
+  * Cache is split to SEGMENTS independent LRU maps, each guarded by its own lock, so concurrent callers rarely wait each other.
+  * Each segment keeps up to maxSize / SEGMENTS(rounded up) least recently used inputs and evicts the eldest one when it is full.
+  * Hits, misses and evictions are counted with LongAdder to size the cache.
+  */
+class CachedGameService(service:GameService, maxSize:Int) {
+
+  require(maxSize > 0, "Cache size should be positive")
+
+  val SEGMENTS = 16
+
+  private val hits = new LongAdder
+  private val misses = new LongAdder
+  private val evictions = new LongAdder
+  private val segments = Array.fill(SEGMENTS)(new Segment((maxSize + SEGMENTS - 1) / SEGMENTS))
+
+  def calculateScore(input:String) : Int = {
+    if (input == null) service.calculateScore(input)
+    else {
+      val segment = segmentFor(input)
+      val cached = segment.find(input)
+      if (cached != null) {
+        hits.increment()
+        cached.score
+      } else {
+        misses.increment()
+        try {
+          val score = service.calculateScore(input)
+          segment.store(input, Result(score, null))
+          score
+        } catch {
+          case e:InputException =>
+            segment.store(input, Result(0, e.getMessage))
+            throw e
+        }
+      }
+    }
+  }
+
+  def hitCount: Long = hits.sum()
+
+  def missCount: Long = misses.sum()
+
+  def evictionCount: Long = evictions.sum()
+
+  def hitRate: Double = {
+    val total = hitCount + missCount
+    if (total == 0) 0 else hitCount.toDouble / total
+  }
+
+  def size: Int = segments.map(_.count).sum
+
+  private def segmentFor(input:String) = {
+    val hash = input.hashCode
+    segments((hash ^ (hash >>> 16)) & (SEGMENTS - 1))
+  }
+
+  private case class Result(private val value:Int, error:String) {
+    def score: Int = if (error != null) throw new InputException(error) else value
+  }
+
+  private class Segment(maxSize:Int) extends LinkedHashMap[String, Result](16, 0.75f, true) {
+
+    def find(input:String): Result = synchronized(get(input))
+
+    def store(input:String, result:Result): Unit = synchronized(put(input, result))
+
+    def count: Int = synchronized(size())
+
+    override protected def removeEldestEntry(eldest:JMap.Entry[String, Result]): Boolean = {
+      if (size() > maxSize) {
+        evictions.increment()
+        true
+      } else false
+    }
+  }
+}
@@ -14,12 +14,11 @@ package com.amarkhel
 object ClassicCalculation extends Calculation {
 
   override def score(game:Game): Int = {
-    implicit val rolls = game.balls.map(_.pins).toArray
+    implicit val rolls = pinsOf(game)
     var score = 0
     var index = 0
-    for {
-      _ <- 0 until COUNT_FRAMES
-    } yield {
+    var frame = 0
+    while (frame < COUNT_FRAMES) {
       if (isStrike(rolls(index))) {
         score += MAXIMUM_BALL_VALUE + nextTwoBallsForStrike(index)
         index += 1
@@ -32,10 +31,22 @@ object ClassicCalculation extends Calculation {
         score += twoBallsInFrame(index)
         index += 2
       }
+      frame += 1
     }
     score
   }
 
+  private def pinsOf(game:Game) = {
+    val balls = game.balls
+    val rolls = new Array[Int](balls.size)
+    var i = 0
+    while (i < rolls.length) {
+      rolls(i) = balls(i).pins
+      i += 1
+    }
+    rolls
+  }
+
   private def twoBallsInFrame(index: Int)(implicit rolls:Array[Int]) = {
     rolls(index) + rolls(index + 1)
   }
@@ -0,0 +1,41 @@
+package com.amarkhel
+
+/**
+   This calculation is fast path of Scala engine: it scores array of pins of all balls, produced by 'FastParser',
+   with while-loop over primitive ints, so nothing is boxed or allocated.
+   Algorithm is the same as in 'ClassicCalculation'. Balls missing at the end of not validated game are counted as 0.
+  */
+object FastCalculation extends Calculation {
+
+  override def score(game:Game): Int = {
+    val balls = game.balls
+    val rolls = new Array[Int](balls.size)
+    var i = 0
+    while (i < rolls.length) {
+      rolls(i) = balls(i).pins
+      i += 1
+    }
+    score(rolls, rolls.length)
+  }
+
+  def score(rolls:Array[Int], count:Int): Int = {
+    var score = 0
+    var index = 0
+    var frame = 0
+    while (frame < COUNT_FRAMES) {
+      val first = roll(rolls, count, index)
+      if (first == MAXIMUM_BALL_VALUE) {
+        score += MAXIMUM_BALL_VALUE + roll(rolls, count, index + 1) + roll(rolls, count, index + 2)
+        index += 1
+      } else {
+        val frameSum = first + roll(rolls, count, index + 1)
+        score += (if (frameSum == FRAME_BALLS_MAX_SUM) frameSum + roll(rolls, count, index + 2) else frameSum)
+        index += 2
+      }
+      frame += 1
+    }
+    score
+  }
+
+  @inline private def roll(rolls:Array[Int], count:Int, index:Int) = if (index < count) rolls(index) else 0
+}
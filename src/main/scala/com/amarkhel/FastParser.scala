@@ -0,0 +1,166 @@
+package com.amarkhel
+
+import FPCalculation._
+
+/**
+  This parser is fast path of Scala engine: it reads input char by char straight into array of pins of all balls
+  (main balls, then bonus ones), so no Frame, Ball, List or intermediate String is created.
+  It enforces the same format rules and, if 'validate' is set, the same validation rules with the same priority
+  and messages as 'Parser' with 'FullValidator':
+  1) State of the current frame is kept in a few local variables(count of balls, sum of pins, first ball, flags).
+  2) When frame is finished, all per-frame rules are evaluated at once and failed ones are remembered as bits in the mask.
+  3) After bonus part, game-level rules are checked, then the first failed per-frame rule is reported.
+  Result is count of parsed balls, or negative number of error(see 'error'), so incorrect input costs no exception.
+  'rolls' should have at least 'input.length' elements: there can't be more balls then symbols.
+ */
+object FastParser {
+
+  private val STRIKE = 'X'
+  private val SPARE = '/'
+  private val FRAME_DELIMITER = '|'
+  private val WRONG_SYMBOL = Int.MinValue
+
+  private val BALL_PINS_FAILURE = 1
+  private val FRAME_SUM_FAILURE = 1 << 1
+  private val STRIKE_FRAME_FAILURE = 1 << 2
+  private val SPARE_FRAME_FAILURE = 1 << 3
+  private val USUAL_FRAME_FAILURE = 1 << 4
+
+  private val messages = Parser(NoOpValidator)
+  private val ERRORS = Array(messages.WRONG_FORMAT_ERROR, messages.SPARE_FRAME_BONUS_ERROR,
+    FullValidator.COUNT_FRAME_ERROR, FullValidator.BONUS_FRAME_SHOULD_EXIST_ERROR, FullValidator.BONUS_FRAME_INCORRECT,
+    FullValidator.BALL_COUNT_PINS_ERROR, FullValidator.PIN_SUM_FRAME_ERROR, FullValidator.STRIKE_FRAME_INCORRECT,
+    FullValidator.SPARE_FRAME_INCORRECT, FullValidator.FRAME_INCORRECT)
+  private val WRONG_FORMAT = -1
+  private val SPARE_FRAME_BONUS = -2
+  private val COUNT_FRAME = -3
+  private val BONUS_FRAME_SHOULD_EXIST = -4
+  private val BONUS_FRAME = -5
+  //per-frame errors follow in order of failure bits
+  private val FIRST_FRAME_ERROR = -6
+
+  /**
+    * Message of error, returned by 'parse'.
+    */
+  def error(code:Int) : String = ERRORS(-code - 1)
+
+  def parse(input:String, rolls:Array[Int], validate:Boolean) : Int = {
+    if (input == null || input.isEmpty) return WRONG_FORMAT
+    val length = input.length
+    var index = 0
+    var count = 0
+    var frames = 0
+    var failures = 0
+    var lastStrike = false
+    var lastSpare = false
+
+    var balls = 0
+    var sum = 0
+    var first = 0
+    var strike = false
+    var spare = false
+    var wrongPins = false
+    var main = true
+    while (main) {
+      if (index == length) return WRONG_FORMAT
+      val character = input.charAt(index)
+      index += 1
+      if (character == FRAME_DELIMITER) {
+        if (validate) failures |= frameFailures(balls, sum, first, strike, spare, wrongPins)
+        if (frames == LAST_NOTBONUS_FRAME_INDEX) {
+          lastStrike = strike
+          lastSpare = spare
+        }
+        frames += 1
+        balls = 0
+        sum = 0
+        first = 0
+        strike = false
+        spare = false
+        wrongPins = false
+        if (index < length && input.charAt(index) == FRAME_DELIMITER) {
+          index += 1
+          main = false
+        }
+      } else {
+        val pins = mainPins(character, sum)
+        if (pins == WRONG_SYMBOL) return WRONG_FORMAT
+        if (balls == 0) first = pins
+        balls += 1
+        sum += pins
+        wrongPins |= pins < MINIMUM_BALL_VALUE || pins > MAXIMUM_BALL_VALUE
+        if (character == STRIKE) strike = true
+        else if (character == SPARE) spare = true
+        rolls(count) = pins
+        count += 1
+      }
+    }
+    val emptyMain = index == 2
+
+    var bonusBalls = 0
+    var delimited = false
+    var bonus = true
+    while (bonus && index < length) {
+      val character = input.charAt(index)
+      index += 1
+      if (character == FRAME_DELIMITER) {
+        if (index < length && input.charAt(index) == FRAME_DELIMITER) {
+          index += 1
+          delimited = true
+          bonus = false
+        } else return WRONG_FORMAT
+      } else {
+        val pins = bonusPins(character)
+        if (pins == WRONG_SYMBOL) return WRONG_FORMAT
+        if (character == SPARE) return SPARE_FRAME_BONUS
+        bonusBalls += 1
+        rolls(count) = pins
+        count += 1
+      }
+    }
+    //String.split drops everything after the next '||', but fails, when nothing is left but delimiters
+    if (bonusBalls == 0 && emptyMain && (!delimited || onlyDelimiters(input, index))) return WRONG_FORMAT
+    if (!validate) count
+    else if (frames != COUNT_FRAMES) COUNT_FRAME
+    else if ((lastStrike || lastSpare) && bonusBalls == 0) BONUS_FRAME_SHOULD_EXIST
+    else if (bonusBalls > 0 && !(lastSpare && bonusBalls == MAX_BALLS_COUNT - 1 || lastStrike && bonusBalls == MAX_BALLS_COUNT)) BONUS_FRAME
+    else if (failures != 0) FIRST_FRAME_ERROR - Integer.numberOfTrailingZeros(failures)
+    else count
+  }
+
+  private def mainPins(character:Char, sum:Int) : Int = (character: @annotation.switch) match {
+    case '-' => MINIMUM_BALL_VALUE
+    case 'X' => MAXIMUM_BALL_VALUE
+    case '/' => FRAME_BALLS_MAX_SUM - sum
+    case '1'|'2'|'3'|'4'|'5'|'6'|'7'|'8'|'9' => character - '0'
+    case _ => WRONG_SYMBOL
+  }
+
+  private def bonusPins(character:Char) : Int = (character: @annotation.switch) match {
+    case '-' => MINIMUM_BALL_VALUE
+    case 'X' => MAXIMUM_BALL_VALUE
+    case '/' => 0
+    case '1'|'2'|'3'|'4'|'5'|'6'|'7'|'8'|'9' => character - '0'
+    case _ => WRONG_SYMBOL
+  }
+
+  private def frameFailures(balls:Int, sum:Int, first:Int, strike:Boolean, spare:Boolean, wrongPins:Boolean) : Int = {
+    var failures = 0
+    if (wrongPins) failures |= BALL_PINS_FAILURE
+    if (sum < MINIMUM_BALL_VALUE || sum > FRAME_BALLS_MAX_SUM) failures |= FRAME_SUM_FAILURE
+    if (strike && !(balls == MAX_BALLS_COUNT - 1 && first == MAXIMUM_BALL_VALUE)) failures |= STRIKE_FRAME_FAILURE
+    if (spare && !(balls == MAX_BALLS_COUNT && sum == FRAME_BALLS_MAX_SUM && first < MAXIMUM_BALL_VALUE)) failures |= SPARE_FRAME_FAILURE
+    if (!strike && !spare && !(balls == MAX_BALLS_COUNT && sum < FRAME_BALLS_MAX_SUM)) failures |= USUAL_FRAME_FAILURE
+    failures
+  }
+
+  private def onlyDelimiters(input:String, from:Int) : Boolean = {
+    if ((input.length - from) % 2 != 0) return false
+    var i = from
+    while (i < input.length) {
+      if (input.charAt(i) != FRAME_DELIMITER) return false
+      i += 1
+    }
+    true
+  }
+}
@@ -1,5 +1,9 @@
 package com.amarkhel
 
+import _root_.java.util.concurrent.{ForkJoinPool, RecursiveTask}
+
+import scala.util.control.NonFatal
+
 /**
   * This class playing role as entry-point of application.
   * It takes validator and calculation objects as parameters, and use it for input validation and score calculation accordingly.
@@ -8,17 +12,117 @@ package com.amarkhel
   * 2) FPGameServiceNoValidator instance - use FP calculation algorithm and no-op validator
   * 3) ClassicGameService instance - use classic imperative calculation algorithm and rule-based validator
   * 4) ClassicGameServiceNoValidator instance - use classic imperative calculation algorithm and no-op validator
+  * 5) ClassicGameServiceSinglePassValidator instance - use classic imperative calculation algorithm and single-pass rule-based validator
+  * Batches of games can be scored at once. Batches greater then BATCH_THRESHOLD are split in halves recursively
+  * and scored in parallel in common ForkJoinPool, smaller ones are scored in the calling thread.
+  * 'tryCalculateScore' reports incorrect input as Left instead of exception, so high rate of incorrect inputs
+  * doesn't cost creation and unwinding of exceptions. Batches are scored through it too.
   */
 object FPGameService extends GameService(FullValidator, FPCalculation)
 object FPGameServiceNoValidator extends GameService(NoOpValidator, FPCalculation)
 object ClassicGameService extends GameService(FullValidator, ClassicCalculation)
 object ClassicGameServiceNoValidator extends GameService(NoOpValidator, ClassicCalculation)
+object ClassicGameServiceSinglePassValidator extends GameService(SinglePassValidator, ClassicCalculation)
 
 class GameService(validator:Validator, calculation:Calculation) {
 
   private val parser = Parser(validator)
 
+  val BATCH_THRESHOLD = 1024
+
   def calculateScore(input:String) : Int = {
     calculation.score(parser.parse(input))
   }
-}
\ No newline at end of file
+
+  /**
+    * Calculates score without throwing exceptions: error of incorrect input is returned as Left.
+    * Exception of calculation(possible only for not validated games) is returned as Left too.
+    */
+  def tryCalculateScore(input:String) : Either[String, Int] = {
+    parser.parseEither(input).flatMap { game =>
+      try Right(calculation.score(game)) catch {
+        case NonFatal(e) => Left(if (e.getMessage != null) e.getMessage else e.toString)
+      }
+    }
+  }
+
+  /**
+    * Calculates scores of all inputs. Exception with error of the first incorrect input is thrown, if there is one.
+    */
+  def calculateScores(inputs:Array[String]) : Array[Int] = {
+    val scores = new Array[Int](inputs.length)
+    val errors = new Array[String](inputs.length)
+    if (calculateScores(inputs, scores, errors) > 0) throw new InputException(errors.find(_ != null).get)
+    scores
+  }
+
+  /**
+    * Calculates scores of all inputs into 'scores' array. When input is incorrect, its error is written to 'errors' array
+    * at the same index(and score is 0), otherwise 'errors' array contains null at this index.
+    * Returns count of incorrect inputs.
+    */
+  def calculateScores(inputs:Array[String], scores:Array[Int], errors:Array[String]) : Int = {
+    require(scores.length >= inputs.length && errors.length >= inputs.length, "Scores and errors arrays should be not shorter then inputs")
+    if (inputs.length <= BATCH_THRESHOLD) calculateRange(inputs, scores, errors, 0, inputs.length)
+    else ForkJoinPool.commonPool().invoke(new BatchTask(inputs, scores, errors, 0, inputs.length))
+  }
+
+  private def calculateRange(inputs:Array[String], scores:Array[Int], errors:Array[String], from:Int, to:Int) = {
+    var failed = 0
+    var i = from
+    while (i < to) {
+      tryCalculateScore(inputs(i)) match {
+        case Right(score) =>
+          scores(i) = score
+          errors(i) = null
+        case Left(error) =>
+          scores(i) = 0
+          errors(i) = error
+          failed += 1
+      }
+      i += 1
+    }
+    failed
+  }
+
+  private class BatchTask(inputs:Array[String], scores:Array[Int], errors:Array[String], from:Int, to:Int) extends RecursiveTask[Integer] {
+    override def compute(): Integer = {
+      if (to - from <= BATCH_THRESHOLD) calculateRange(inputs, scores, errors, from, to)
+      else {
+        val middle = (from + to) >>> 1
+        val left = new BatchTask(inputs, scores, errors, from, middle)
+        left.fork()
+        val right = new BatchTask(inputs, scores, errors, middle, to).compute()
+        left.join() + right
+      }
+    }
+  }
+}
+
+/**
+  * Fast path of Scala engine: input is parsed by 'FastParser' into array of pins and scored by 'FastCalculation',
+  * so no Frame, Ball or collection is created. Results and errors are the same as of services with the same validation
+  * (with validation it is 'ClassicGameService'), and batches are scored through the fast path too.
+  * 1) FastGameService instance - validates input by the rules of FullValidator
+  * 2) FastGameServiceNoValidator instance - checks only format of input
+  */
+object FastGameService extends FastPathGameService(validate = true)
+object FastGameServiceNoValidator extends FastPathGameService(validate = false)
+
+class FastPathGameService(validate:Boolean) extends GameService(if (validate) FullValidator else NoOpValidator, FastCalculation) {
+
+  override def calculateScore(input:String) : Int = {
+    val rolls = rollsFor(input)
+    val count = FastParser.parse(input, rolls, validate)
+    if (count < 0) throw new InputException(FastParser.error(count))
+    FastCalculation.score(rolls, count)
+  }
+
+  override def tryCalculateScore(input:String) : Either[String, Int] = {
+    val rolls = rollsFor(input)
+    val count = FastParser.parse(input, rolls, validate)
+    if (count < 0) Left(FastParser.error(count)) else Right(FastCalculation.score(rolls, count))
+  }
+
+  private def rollsFor(input:String) = new Array[Int](if (input == null) 0 else input.length)
+}
@@ -18,6 +18,20 @@ case class Game(frames:Seq[Frame]){
   lazy val balls = frames.flatMap(_.balls)
 }
 
-case class State(remaining:Seq[Ball], sum:Int) {
-  def add(points: Int) = State(remaining.tail, sum + points)
+/**
+  Immutable view of all balls of the game, addressed by index.
+ */
+final class Rolls private(pinsOf:Array[Int], strikes:Array[Boolean], spares:Array[Boolean], bonuses:Array[Boolean]) {
+  def size: Int = pinsOf.length
+  def pins(index:Int): Int = pinsOf(index)
+  def isStrike(index:Int): Boolean = strikes(index)
+  def isSpare(index:Int): Boolean = spares(index)
+  def isBonus(index:Int): Boolean = bonuses(index)
+}
+
+object Rolls {
+  def apply(game:Game): Rolls = {
+    val balls = game.balls
+    new Rolls(balls.map(_.pins).toArray, balls.map(_.isStrike).toArray, balls.map(_.isSpare).toArray, balls.map(_.isBonus).toArray)
+  }
 }
\ No newline at end of file
@@ -5,18 +5,20 @@ import FPCalculation._
 /**
   This class encapsulate all logic related to parsing and validation of input data.
   It takes 'validator' object as parameter and forward responsibility about validation to it.
-  It guaranteed that Exception will be thrown when input is empty, have wrong format or didn't contain BONUS_DELIMITER(||),
+  It guaranteed that error will be reported when input is empty, have wrong format or didn't contain BONUS_DELIMITER(||),
   because it is very important for further algorithm. Other validation rules are enforced by 'validator' instance
-  and implementation specific(it can skip validation at all or always throw error).
+  and implementation specific(it can skip validation at all or always report error).
 
   Parsing algorithm:
   1) Split input by BONUS_DELIMITER, left part will represent main bowling frames and right part will represent bonus frame
-  2) Parse main frames input to List of Frame objects.
-  3) Try to parse bonus input(if exist one frame will be returned, wrapped as Optional or empty Optional otherwise).
+  2) Parse main frames input to array of Frame objects by plain loops, stop on the first wrong symbol.
+  3) Try to parse bonus input(if exist one frame will be returned, wrapped as Option or None otherwise).
   4) Combine list of balls and optional bonus frame to single list
   5) Validate constructed list, using 'validator' object
-  6) If validation is successful, then new Game object will be constructed and returned as result.
-     Otherwise Exception with error description will be thrown.
+  6) If validation is successful, then new Game object will be constructed and returned as Right.
+     Otherwise error description will be returned as Left.
+  'parseEither' never throws, so incorrect input costs no exception. 'parse' throws error as InputException,
+  which doesn't capture stack trace.
  */
 case class Parser(validator:Validator) {
 
@@ -35,38 +37,69 @@ case class Parser(validator:Validator) {
   val FRAME_DELIMITER_PATTERN = "\\|"
   val BONUS_DELIMITER_PATTERN = FRAME_DELIMITER_PATTERN + FRAME_DELIMITER_PATTERN
 
-  def parse(input:String) : Game = {
-    val (mainInput, bonusInput) = splitParts(input)
-    val frames = combine(parseFrames(mainInput), parseBonus(bonusInput))
-    val error = validator.validate(frames)
-    if (error.isEmpty) Game(frames) else throw new Exception(error.get)
+  def parse(input:String) : Game = parseEither(input).fold(error => throw new InputException(error), identity)
+
+  def parseEither(input:String) : Either[String, Game] = {
+    for {
+      parts <- splitParts(input)
+      frames <- parseFrames(parts._1)
+      bonus <- parseBonus(parts._2)
+      game <- validate(combine(frames, bonus))
+    } yield game
   }
 
+  private def validate(frames:Array[Frame]) = validator.validate(frames).toLeft(Game(frames))
+
   private def combine(frames:Array[Frame], bonus:Option[Frame]) = if(bonus.isDefined) frames :+ bonus.get else frames
 
-  private def parseFrames(input:Array[String]) = input.map(f => parseFrame(f))
+  private def parseFrames(input:Array[String]) : Either[String, Array[Frame]] = {
+    val frames = new Array[Frame](input.length)
+    var i = 0
+    while (i < input.length) {
+      parseFrame(input(i)) match {
+        case Right(frame) => frames(i) = frame
+        case Left(error) => return Left(error)
+      }
+      i += 1
+    }
+    Right(frames)
+  }
 
-  private def parseBonus(input:String) = if(input.isEmpty) None else Some(parseFrame(input, isBonus = true))
+  private def parseBonus(input:String) = if(input.isEmpty) Right(None) else parseFrame(input, isBonus = true).map(Some(_))
 
   private def splitParts(input:String) = {
-    if(input == null || input.isEmpty || !input.contains(BONUS_DELIMITER)) throw new Exception(WRONG_FORMAT_ERROR)
+    if(input == null || input.isEmpty || !input.contains(BONUS_DELIMITER)) Left(WRONG_FORMAT_ERROR)
     else {
       val splitted = input.split(BONUS_DELIMITER_PATTERN)
-      (splitted.head.split(FRAME_DELIMITER_PATTERN), if(splitted.size > 1) splitted.tail.head else "")
+      if (splitted.isEmpty) Left(WRONG_FORMAT_ERROR)
+      else Right((splitted.head.split(FRAME_DELIMITER_PATTERN), if(splitted.size > 1) splitted.tail.head else ""))
     }
   }
 
-  private def parseFrame(input:String, isBonus:Boolean = false) = {
-    Frame(input.foldLeft(List.empty[Ball])((accum, ball) => accum :+ parseBall(ball, accum, isBonus)))
-  }
-
-  private def parseBall(char:Char, balls:List[Ball], isBonus:Boolean) = char match {
-    case MISS => Ball(MINIMUM_BALL_VALUE, isBonus)
-    case STRIKE => Ball(MAXIMUM_BALL_VALUE, isBonus, isStrike = !isBonus)
-    case SPARE => if(isBonus) throw new Exception(SPARE_FRAME_BONUS_ERROR) else Ball(remainingPins(balls), isSpare = true)
-    case '1'|'2'|'3'|'4'|'5'|'6'|'7'|'8'|'9' => Ball(char.toString.toInt, isBonus)
-    case _ => throw new Exception(WRONG_FORMAT_ERROR)
+  /**
+    * Balls are prepended and reversed once at the end, pins of previous balls are summed on the way for spare.
+    */
+  private def parseFrame(input:String, isBonus:Boolean = false) : Either[String, Frame] = {
+    var balls = List.empty[Ball]
+    var pins = 0
+    var i = 0
+    while (i < input.length) {
+      val ball = input.charAt(i) match {
+        case MISS => Ball(MINIMUM_BALL_VALUE, isBonus)
+        case STRIKE => Ball(MAXIMUM_BALL_VALUE, isBonus, isStrike = !isBonus)
+        case SPARE => if(isBonus) return Left(SPARE_FRAME_BONUS_ERROR) else Ball(FRAME_BALLS_MAX_SUM - pins, isSpare = true)
+        case char@('1'|'2'|'3'|'4'|'5'|'6'|'7'|'8'|'9') => Ball(char - '0', isBonus)
+        case _ => return Left(WRONG_FORMAT_ERROR)
+      }
+      pins += ball.pins
+      balls = ball :: balls
+      i += 1
+    }
+    Right(Frame(balls.reverse))
   }
+}
 
-  private def remainingPins(balls:List[Ball]) = FRAME_BALLS_MAX_SUM - balls.map(_.pins).sum
-}
\ No newline at end of file
+/**
+  Error of parsing or validation of the input. It is expected business error, not a bug, so stack trace is not captured.
+ */
+class InputException(message:String) extends Exception(message, null, false, false)
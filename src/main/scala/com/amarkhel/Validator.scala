@@ -116,4 +116,49 @@ object FullValidator extends Validator {
     compositeRule(spareFrameCorrect, SPARE_FRAME_INCORRECT),
     compositeRule(usualFrameCorrect, FRAME_INCORRECT)
   )
-}
\ No newline at end of file
+}
+
+/**
+  * This implementation checks the same rules as FullValidator and reports the same first error,
+  * but visits each frame only once.
+  * Per-frame rules are evaluated together for each frame, failed ones are remembered as bits in the mask(bit number is
+  * rule priority). Then game-level rules are checked and, if all of them passed,
+  * the error of the failed per-frame rule with highest priority is returned.
+  */
+object SinglePassValidator extends Validator {
+
+  private val BALL_PINS_FAILURE = 1
+  private val FRAME_SUM_FAILURE = 1 << 1
+  private val STRIKE_FRAME_FAILURE = 1 << 2
+  private val SPARE_FRAME_FAILURE = 1 << 3
+  private val USUAL_FRAME_FAILURE = 1 << 4
+  private val FRAME_ERRORS = Array(BALL_COUNT_PINS_ERROR, PIN_SUM_FRAME_ERROR, STRIKE_FRAME_INCORRECT, SPARE_FRAME_INCORRECT, FRAME_INCORRECT)
+
+  override def validate(frames:Array[Frame]): Option[String] = {
+    var notBonusFrames = 0
+    var failures = 0
+    var i = 0
+    while (i < frames.length) {
+      val frame = frames(i)
+      val size = frame.balls.size
+      val first = if (size > 0) frame.balls.head.pins else 0
+      if (!frame.balls.forall(_.isCorrect)) failures |= BALL_PINS_FAILURE
+      if (!frame.isBonus && (frame.total < MINIMUM_BALL_VALUE || frame.total > FRAME_BALLS_MAX_SUM)) failures |= FRAME_SUM_FAILURE
+      if (frame.isStrike && !(size == MAX_BALLS_COUNT - 1 && first == MAXIMUM_BALL_VALUE)) failures |= STRIKE_FRAME_FAILURE
+      if (frame.isSpare && !(size == MAX_BALLS_COUNT && frame.total == FRAME_BALLS_MAX_SUM && first < MAXIMUM_BALL_VALUE)) failures |= SPARE_FRAME_FAILURE
+      if (!frame.isSpecial && !(size == MAX_BALLS_COUNT && frame.total < FRAME_BALLS_MAX_SUM)) failures |= USUAL_FRAME_FAILURE
+      if (!frame.isBonus) notBonusFrames += 1
+      i += 1
+    }
+    if (notBonusFrames != COUNT_FRAMES) Some(COUNT_FRAME_ERROR)
+    else {
+      val lastNotBonus = frames(LAST_NOTBONUS_FRAME_INDEX)
+      val last = frames.last
+      if ((lastNotBonus.isStrike || lastNotBonus.isSpare) && frames.length != COUNT_FRAMES + 1) Some(BONUS_FRAME_SHOULD_EXIST_ERROR)
+      else if (last.isBonus && !(lastNotBonus.isSpare && last.balls.size == MAX_BALLS_COUNT - 1 && last.balls.forall(_.isCorrect) ||
+                                 lastNotBonus.isStrike && last.balls.size == MAX_BALLS_COUNT && last.balls.forall(_.isCorrect))) Some(BONUS_FRAME_INCORRECT)
+      else if (failures != 0) Some(FRAME_ERRORS(Integer.numberOfTrailingZeros(failures)))
+      else None
+    }
+  }
+}
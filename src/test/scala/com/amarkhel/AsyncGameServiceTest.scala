@@ -0,0 +1,114 @@
+package com.amarkhel
+
+import _root_.java.util.concurrent.{CompletionException, RejectedExecutionException, TimeUnit}
+
+import com.amarkhel.benchmark.GameGenerator
+import com.amarkhel.java.{ErrorCode, ParseException, AsyncGameService => JavaAsyncGameService, GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+import scala.collection.JavaConverters._
+import scala.concurrent.duration._
+import scala.concurrent.{Await, Future}
+import scala.concurrent.ExecutionContext.Implicits.global
+
+class AsyncGameServiceTest extends FunSuite {
+
+  private val games = GameGenerator.games(3, 5000, 0.3, 0.3, 0.2)
+
+  test("Java async service should score games in order of futures and report incorrect ones") {
+    val service = new JavaAsyncGameService(JavaGameService.classic, 2, 256, 32, JavaAsyncGameService.Overflow.BLOCK)
+    try {
+      val futures = games.map(game => service.tryCalculateScore(game))
+      futures.zip(games).foreach { case (future, game) =>
+        assert(future.get(10, TimeUnit.SECONDS) === JavaGameService.classic.tryCalculateScore(game), game)
+      }
+      assert(service.getRejected === 0)
+      assert(service.getWaitLatency.getCount === games.length)
+      assert(service.getAverageBatchSize >= 1)
+      assert(service.getInFlight === 0)
+      val thrown = intercept[CompletionException](service.calculateScore("X|X||").join())
+      assert(thrown.getCause.isInstanceOf[ParseException])
+      assert(thrown.getCause.getMessage === ErrorCode.COUNT_FRAME.getMessage)
+      assert(service.calculateScore("X|X|X|X|X|X|X|X|X|X||XX").get === 300)
+    } finally {
+      service.close()
+    }
+  }
+  test("Java async service should reject requests over capacity or score them in the caller") {
+    val service = new JavaAsyncGameService(JavaGameService.classic, 1, 4, 2, JavaAsyncGameService.Overflow.REJECT)
+    val futures = try games.map(game => service.tryCalculateScore(game)) finally service.close()
+    val rejected = futures.count(_.isCompletedExceptionally)
+    assert(rejected === service.getRejected)
+    futures.filterNot(_.isCompletedExceptionally).foreach(future => assert(future.isDone))
+    futures.find(_.isCompletedExceptionally).foreach { future =>
+      assert(intercept[Exception](future.join()).getCause.isInstanceOf[RejectedExecutionException])
+    }
+    val callerRuns = new JavaAsyncGameService(JavaGameService.classic, 1, 1, 1, JavaAsyncGameService.Overflow.CALLER_RUNS)
+    try {
+      val futures = games.map(game => callerRuns.tryCalculateScore(game))
+      futures.zip(games).foreach { case (future, game) =>
+        assert(future.get === JavaGameService.classic.tryCalculateScore(game), game)
+      }
+      assert(callerRuns.getRejected === 0)
+    } finally {
+      callerRuns.close()
+    }
+  }
+  test("Closed Java async service should reject new requests") {
+    val service = new JavaAsyncGameService(JavaGameService.classic, 1, 16, 4, JavaAsyncGameService.Overflow.BLOCK)
+    service.close()
+    assert(service.tryCalculateScore(games(0)).isCompletedExceptionally)
+    assert(service.getRejected === 1)
+  }
+  test("Scala async service should score games and report incorrect ones") {
+    val service = new AsyncGameService(ClassicGameService, 2, 256, 32, AsyncGameService.Block)
+    try {
+      val results = Await.result(Future.sequence(games.toSeq.map(service.tryCalculateScore)), 10.seconds)
+      assert(results === games.toSeq.map(ClassicGameService.tryCalculateScore))
+      assert(service.rejectedCount === 0)
+      assert(service.waitLatencySnapshot.getCount === games.length)
+      assert(Await.result(service.calculateScore("X|X|X|X|X|X|X|X|X|X||XX"), 10.seconds) === 300)
+      assert(intercept[InputException](Await.result(service.calculateScore("X|X||"), 10.seconds)).getMessage === ErrorCode.COUNT_FRAME.getMessage)
+    } finally {
+      service.close()
+    }
+  }
+  test("Scala async service should reject requests over capacity") {
+    val service = new AsyncGameService(ClassicGameService, 1, 4, 2, AsyncGameService.Reject)
+    val futures = try games.toSeq.map(service.tryCalculateScore) finally service.close()
+    val failed = futures.count(_.value.exists(_.isFailure))
+    assert(failed === service.rejectedCount)
+    assert(futures.forall(_.isCompleted))
+  }
+  test("Requests submitted concurrently with close should all be completed") {
+    (1 to 50).foreach { _ =>
+      val java = new JavaAsyncGameService(JavaGameService.classic, 2, 64, 8, JavaAsyncGameService.Overflow.BLOCK)
+      val scala = new AsyncGameService(ClassicGameService, 2, 64, 8, AsyncGameService.Block)
+      val submitted = Future.sequence((1 to 4).map(_ => Future(games.take(200).map(game => (java.tryCalculateScore(game), scala.tryCalculateScore(game))))))
+      java.close()
+      scala.close()
+      Await.result(submitted, 10.seconds).flatten.foreach { case (javaFuture, scalaFuture) =>
+        assert(Await.ready(scalaFuture, 10.seconds).isCompleted)
+        assert(javaFuture.handle[Boolean]((_, _) => true).get(10, TimeUnit.SECONDS))
+      }
+    }
+  }
+  test("Idle workers should wait without timeout until close") {
+    def workers(prefix:String) = Thread.getAllStackTraces.keySet.asScala.filter(_.getName.startsWith(prefix)).toSeq
+    val javaService = new JavaAsyncGameService(JavaGameService.classic, 2, 16, 4, JavaAsyncGameService.Overflow.BLOCK)
+    val scalaService = new AsyncGameService(ClassicGameService, 2, 16, 4, AsyncGameService.Block)
+    try {
+      assert(javaService.calculateScore("X|X|X|X|X|X|X|X|X|X||XX").get === 300)
+      assert(Await.result(scalaService.calculateScore("X|X|X|X|X|X|X|X|X|X||XX"), 10.seconds) === 300)
+      val idle = workers("async-game-service-") ++ workers("async-scala-game-service-")
+      assert(idle.size === 4)
+      val deadline = System.currentTimeMillis + 10000
+      while (idle.exists(_.getState != Thread.State.WAITING) && System.currentTimeMillis < deadline) Thread.sleep(10)
+      assert(idle.forall(_.getState === Thread.State.WAITING))
+    } finally {
+      javaService.close()
+      scalaService.close()
+    }
+    assert(workers("async-game-service-").isEmpty && workers("async-scala-game-service-").isEmpty)
+  }
+}
@@ -0,0 +1,67 @@
+package com.amarkhel
+
+import com.amarkhel.java.{GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+import scala.util.Try
+
+class BatchScoreTest extends FunSuite {
+
+  trait BatchService {
+    def calculateScore(value: String): Int
+    def calculateScores(inputs: Array[String]): Array[Int]
+    def calculateScores(inputs: Array[String], scores: Array[Int], errors: Array[String]): Int
+  }
+
+  private def batch(service:JavaGameService) : BatchService = new BatchService {
+    def calculateScore(value: String): Int = service.calculateScore(value)
+    def calculateScores(inputs: Array[String]): Array[Int] = service.calculateScores(inputs)
+    def calculateScores(inputs: Array[String], scores: Array[Int], errors: Array[String]): Int = service.calculateScores(inputs, scores, errors)
+    override def toString: String = service.toString
+  }
+
+  private def batch(service:GameService) : BatchService = new BatchService {
+    def calculateScore(value: String): Int = service.calculateScore(value)
+    def calculateScores(inputs: Array[String]): Array[Int] = service.calculateScores(inputs)
+    def calculateScores(inputs: Array[String], scores: Array[Int], errors: Array[String]): Int = service.calculateScores(inputs, scores, errors)
+    override def toString: String = service.toString
+  }
+
+  private val services = List(batch(JavaGameService.fp), batch(JavaGameService.classic), batch(JavaGameService.classicNoValidator),
+    batch(FPGameService), batch(ClassicGameService), batch(ClassicGameServiceNoValidator))
+
+  private val games = Array("X|X|X|X|X|X|X|X|X|X||XX", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||", "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5",
+    "X|7/|9-|X|-8|8/|-6|X|X|X||81", "X|X|", "", "X|X|X|X|X|X|X|X|X|X||5/", "X|X|X|X|X|X|X|X|X|56||")
+
+  private def samples(size:Int) = Array.tabulate(size)(i => games(i % games.length))
+
+  private def check(service:BatchService, inputs:Array[String]) = {
+    val scores = new Array[Int](inputs.length)
+    val errors = new Array[String](inputs.length)
+    val failed = service.calculateScores(inputs, scores, errors)
+    val expected = inputs.map(input => Try(service.calculateScore(input)))
+    assert(failed === expected.count(_.isFailure), s"Issue encountered in service class $service")
+    expected.zipWithIndex.foreach {
+      case (result, i) =>
+        assert(scores(i) === result.getOrElse(0), s"Issue encountered in service class $service at index $i")
+        assert((errors(i) == null) === result.isSuccess, s"Issue encountered in service class $service at index $i")
+    }
+  }
+
+  test("Small batch should be scored like each game separately") {
+    services.foreach(check(_, samples(100)))
+  }
+  test("Large batch should be scored like each game separately") {
+    services.foreach(check(_, samples(50000)))
+  }
+  test("Batch without errors should return all scores") {
+    services.foreach(service => assert(service.calculateScores(Array.fill(5000)("X|X|X|X|X|X|X|X|X|X||XX")).forall(_ == 300)))
+  }
+  test("Batch with error should throw error") {
+    List(batch(JavaGameService.fp), batch(JavaGameService.classic), batch(FPGameService), batch(ClassicGameService))
+      .foreach(service => assertThrows[Exception](service.calculateScores(Array.fill(5000)("X|X|X|X|X|X|X|X|X|X||XX") :+ "X|X|")))
+  }
+  test("Batch should fail if output arrays are too short") {
+    services.foreach(service => assertThrows[IllegalArgumentException](service.calculateScores(samples(10), new Array[Int](5), new Array[String](10))))
+  }
+}
@@ -1,16 +1,16 @@
 package com.amarkhel
 
-import com.amarkhel.java.GameService
+import com.amarkhel.java.{FusedGameService, GameService => JavaGameService}
 import org.scalatest.FunSuite
 
 class BowlingScoreTest extends FunSuite {
 
   type Service = {def calculateScore(value: String): Int}
-  private val javaServices:List[Service] = List(GameService.fp, GameService.fpNoValidator, GameService.classic, GameService.classicNoValidator)
-  private val scalaServices:List[Service] = List(FPGameService, ClassicGameService, ClassicGameServiceNoValidator, FPGameServiceNoValidator)
+  private val javaServices:List[Service] = List[Service](JavaGameService.fp, JavaGameService.fpNoValidator, JavaGameService.classic, JavaGameService.classicNoValidator, JavaGameService.classicSinglePassValidator, FusedGameService.instance)
+  private val scalaServices:List[Service] = List(FPGameService, ClassicGameService, ClassicGameServiceNoValidator, FPGameServiceNoValidator, ClassicGameServiceSinglePassValidator)
   private val services = javaServices ++ scalaServices
-  private val javaServicesWithValidation:List[Service] = List(GameService.fp, GameService.classic)
-  private val scalaServicesWithValidation:List[Service] = List(FPGameService, ClassicGameService)
+  private val javaServicesWithValidation:List[Service] = List[Service](JavaGameService.fp, JavaGameService.classic, JavaGameService.classicSinglePassValidator, FusedGameService.instance)
+  private val scalaServicesWithValidation:List[Service] = List(FPGameService, ClassicGameService, ClassicGameServiceSinglePassValidator)
   private val servicesWithValidation = javaServicesWithValidation ++ scalaServicesWithValidation
 
   private def run(input:String, result:Int) = {
@@ -0,0 +1,49 @@
+package com.amarkhel
+
+import _root_.java.io.ByteArrayOutputStream
+import _root_.java.nio.charset.StandardCharsets.US_ASCII
+import _root_.java.nio.file.Files
+
+import com.amarkhel.java.{BulkScorer, ErrorCode, GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+import scala.util.{Failure, Success, Try}
+
+class BulkScorerTest extends FunSuite {
+
+  private val games = Array("X|X|X|X|X|X|X|X|X|X||XX", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||", "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5",
+    "X|7/|9-|X|-8|8/|-6|X|X|X||81", "X|X|", "", "X|X|X|X|X|X|X|X|X|X||5/", "X|X|X|X|X|X|X|X|X|56||", "X|X|X|X|X|X|X|X|X|X||1")
+
+  private def expected(game:String) = Try(JavaGameService.classic.calculateScore(game)) match {
+    case Success(score) => score
+    case Failure(e) => -ErrorCode.of(e.getMessage).getCode
+  }
+
+  private def run(content:String, chunkSize:Int) = {
+    val file = Files.createTempFile("games", ".txt")
+    try {
+      Files.write(file, content.getBytes(US_ASCII))
+      val output = new ByteArrayOutputStream()
+      val lines = new BulkScorer(chunkSize).score(file, output)
+      (lines, new String(output.toByteArray, US_ASCII))
+    } finally {
+      Files.delete(file)
+    }
+  }
+
+  test("Each line should be scored in order") {
+    val lines = Array.tabulate(20000)(i => games(i % games.length))
+    val output = lines.map(expected).mkString("", "\n", "\n")
+    Seq(1, 7, 64, 4096, BulkScorer.DEFAULT_CHUNK_SIZE).foreach { chunkSize =>
+      assert(run(lines.mkString("\n"), chunkSize) === (lines.length, output), s"Issue with chunk size $chunkSize")
+      assert(run(lines.mkString("", "\n", "\n"), chunkSize) === (lines.length, output), s"Issue with chunk size $chunkSize")
+      assert(run(lines.mkString("", "\r\n", "\r\n"), chunkSize) === (lines.length, output), s"Issue with chunk size $chunkSize")
+    }
+  }
+  test("Empty file should produce empty output") {
+    assert(run("", 16) === (0, ""))
+  }
+  test("Error codes should keep original messages") {
+    ErrorCode.values.foreach(error => assert(ErrorCode.of(error.getMessage) === error))
+  }
+}
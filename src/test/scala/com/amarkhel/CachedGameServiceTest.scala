@@ -0,0 +1,73 @@
+package com.amarkhel
+
+import com.amarkhel.java.{GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+import scala.collection.parallel.ForkJoinTaskSupport
+import scala.util.Try
+
+class CachedGameServiceTest extends FunSuite {
+
+  type Score = String => Int
+
+  private val games = Seq("X|X|X|X|X|X|X|X|X|X||XX", "--|--|--|--|--|--|--|--|--|--||", "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5",
+    "X|7/|9-|X|-8|8/|-6|X|X|X||81", "X|X|", "", "X|X|X|X|X|X|X|X|X|X||5/", "X|X|X|X|X|X|X|X|X|56||")
+
+  test("Java cache should count hits and misses") {
+    val cache = new java.CachedGameService(JavaGameService.classic, 100)
+    assert(cache.calculateScore("X|X|X|X|X|X|X|X|X|X||XX") === 300)
+    assert(cache.calculateScore("X|X|X|X|X|X|X|X|X|X||XX") === 300)
+    assert(cache.getHits === 1 && cache.getMisses === 1 && cache.getSize === 1 && cache.getHitRate === 0.5)
+  }
+  test("Scala cache should count hits and misses") {
+    val cache = new CachedGameService(ClassicGameService, 100)
+    assert(cache.calculateScore("X|X|X|X|X|X|X|X|X|X||XX") === 300)
+    assert(cache.calculateScore("X|X|X|X|X|X|X|X|X|X||XX") === 300)
+    assert(cache.hitCount === 1 && cache.missCount === 1 && cache.size === 1 && cache.hitRate === 0.5)
+  }
+  test("Java cache should memoize validation errors") {
+    val cache = new java.CachedGameService(JavaGameService.fp, 100)
+    val first = intercept[Exception](cache.calculateScore("X|X|X|X|X|X|X|X|X|X||5/"))
+    val second = intercept[Exception](cache.calculateScore("X|X|X|X|X|X|X|X|X|X||5/"))
+    assert(first.getMessage === second.getMessage && cache.getHits === 1)
+  }
+  test("Scala cache should memoize validation errors") {
+    val cache = new CachedGameService(FPGameService, 100)
+    val first = intercept[Exception](cache.calculateScore("X|X|X|X|X|X|X|X|X|X||5/"))
+    val second = intercept[Exception](cache.calculateScore("X|X|X|X|X|X|X|X|X|X||5/"))
+    assert(first.getMessage === second.getMessage && cache.hitCount === 1)
+  }
+  test("Scala cache should not memoize failures other than incorrect input") {
+    val failing = new GameService(FullValidator, ClassicCalculation) {
+      override def calculateScore(input:String) : Int = throw new IllegalStateException
+    }
+    val cache = new CachedGameService(failing, 100)
+    assertThrows[IllegalStateException](cache.calculateScore("X|X|X|X|X|X|X|X|X|X||XX"))
+    assertThrows[IllegalStateException](cache.calculateScore("X|X|X|X|X|X|X|X|X|X||XX"))
+    assert(cache.hitCount === 0 && cache.missCount === 2 && cache.size === 0)
+  }
+  test("Java cache should evict least recently used games") {
+    val cache = new java.CachedGameService(JavaGameService.classicNoValidator, 16)
+    (1 to 9).foreach(i => cache.calculateScore(s"$i-|--|--|--|--|--|--|--|--|--||"))
+    (1 to 9).foreach(i => cache.calculateScore(s"-$i|--|--|--|--|--|--|--|--|--||"))
+    assert(cache.getSize <= 18 && cache.getSize + cache.getEvictions === 18)
+  }
+  test("Scala cache should evict least recently used games") {
+    val cache = new CachedGameService(ClassicGameServiceNoValidator, 16)
+    (1 to 9).foreach(i => cache.calculateScore(s"$i-|--|--|--|--|--|--|--|--|--||"))
+    (1 to 9).foreach(i => cache.calculateScore(s"-$i|--|--|--|--|--|--|--|--|--||"))
+    assert(cache.size <= 18 && cache.size + cache.evictionCount === 18)
+  }
+  test("Caches should give the same results as wrapped services under concurrent use") {
+    val javaCache = new java.CachedGameService(JavaGameService.classic, 4)
+    val scalaCache = new CachedGameService(ClassicGameService, 4)
+    List[(Score, Score)](
+      (javaCache.calculateScore, JavaGameService.classic.calculateScore),
+      (scalaCache.calculateScore, ClassicGameService.calculateScore)
+    ).foreach { case (cache, service) =>
+      val inputs = (1 to 20000).map(i => games(i % games.size)).par
+      inputs.tasksupport = new ForkJoinTaskSupport(new _root_.java.util.concurrent.ForkJoinPool(8))
+      inputs.foreach(input => assert(Try(cache(input)).toOption === Try(service(input)).toOption))
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.amarkhel
+
+import com.amarkhel.benchmark.GameGenerator
+import com.amarkhel.java._
+import org.scalatest.FunSuite
+
+class ColumnarCalculationTest extends FunSuite {
+
+  private val calculation = new ColumnarCalculation
+  private val games = GameGenerator.games(4, 5000, 0.3, 0.3, 0.15) ++ GameGenerator.legalGames(5, 5000) ++
+    Array("X|X|X|X|X|X|X|X|X|X||XX", "--|--|--|--|--|--|--|--|--|--||", "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|X|X|X|X|X|X|X|X|5/||X")
+
+  private def expected(game:String) = {
+    val result = GameService.classic.tryCalculateScore(game)
+    if (result.isSuccess) result.getScore else -result.getError.getCode
+  }
+
+  test("Columnar calculation should give the same scores as classic one") {
+    val columns = GameColumns.parse(games.toArray[CharSequence])
+    assert(columns.size === games.length)
+    assert(calculation.score(columns).toSeq === games.map(expected).toSeq)
+  }
+  test("Text should be converted to columns") {
+    val columns = GameColumns.parse(Array[CharSequence]("X|7/|9-|X|-8|8/|-6|X|X|X||81", "X|X||"))
+    assert(columns.getCount(0) === 17)
+    assert((0 until 17).map(columns.getPins(0, _)) === Seq(10, 7, 3, 9, 0, 10, 0, 8, 8, 2, 0, 6, 10, 10, 10, 8, 1))
+    assert(columns.getError(0) == null)
+    assert(columns.getCount(1) === 0 && columns.getError(1) === ErrorCode.COUNT_FRAME && columns.getFailures === 1)
+  }
+  test("Games should be converted to columns") {
+    val columns = new GameColumns(2)
+    columns.add(PackedGame.parse("X|X|X|X|X|X|X|X|X|X||XX").toGame)
+    columns.add("9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||")
+    assert(calculation.score(columns).toSeq === Seq(300, 90))
+    intercept[IllegalStateException](columns.add("9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||"))
+  }
+  test("Columns should be reusable after clear") {
+    val columns = new GameColumns(1)
+    columns.add("X|X|X|X|X|X|X|X|X|X||XX")
+    columns.clear()
+    columns.add("9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||")
+    assert(calculation.score(columns).toSeq === Seq(90))
+  }
+}
@@ -0,0 +1,37 @@
+package com.amarkhel
+
+import _root_.java.util.concurrent.{Callable, Executors, TimeUnit}
+
+import com.amarkhel.benchmark.GameGenerator
+import com.amarkhel.java.{FusedGameService, GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+import scala.collection.JavaConverters._
+
+class ConcurrencyTest extends FunSuite {
+
+  private val games = GameGenerator.games(5, 5000, 0.3, 0.3, 0.15)
+  private val threads = 8
+
+  private def concurrently[T](score:String => T) = {
+    val expected = games.map(score).toSeq
+    val pool = Executors.newFixedThreadPool(threads)
+    try {
+      val tasks = (1 to threads).map(_ => new Callable[Seq[T]] { override def call() = games.map(score).toSeq })
+      pool.invokeAll(tasks.asJava).asScala.foreach(result => assert(result.get === expected))
+    } finally {
+      pool.shutdown()
+      pool.awaitTermination(1, TimeUnit.MINUTES)
+    }
+  }
+
+  test("Shared Java services should give the same results from many threads") {
+    List(JavaGameService.classic, JavaGameService.fp, JavaGameService.classicSinglePassValidator)
+      .foreach(service => concurrently(game => service.tryCalculateScore(game)))
+    concurrently(game => FusedGameService.instance.tryScore(game))
+  }
+  test("Shared Scala services should give the same results from many threads") {
+    List(ClassicGameService, FPGameService, ClassicGameServiceSinglePassValidator)
+      .foreach(service => concurrently(game => service.tryCalculateScore(game)))
+  }
+}
@@ -0,0 +1,22 @@
+package com.amarkhel
+
+import com.amarkhel.benchmark.GameGenerator
+import com.amarkhel.java.{GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+class FPCalculationTest extends FunSuite {
+
+  private val games = GameGenerator.legalGames(3, 20000)
+
+  test("Java FP calculation should give the same score as classic one") {
+    games.foreach(game => assert(JavaGameService.fp.calculateScore(game) === JavaGameService.classic.calculateScore(game), game))
+  }
+  test("Scala FP calculation should give the same score as classic one") {
+    games.foreach(game => assert(FPGameService.calculateScore(game) === ClassicGameService.calculateScore(game), game))
+  }
+  test("FP calculation should not depend on equality of balls") {
+    val game = "11|11|11|11|11|11|11|11|11|11||"
+    assert(JavaGameService.fp.calculateScore(game) === 20)
+    assert(FPGameService.calculateScore(game) === 20)
+  }
+}
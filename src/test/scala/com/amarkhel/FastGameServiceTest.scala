@@ -0,0 +1,58 @@
+package com.amarkhel
+
+import com.amarkhel.benchmark.GameGenerator
+import org.scalatest.FunSuite
+
+import scala.util.Random
+
+class FastGameServiceTest extends FunSuite {
+
+  private val random = new Random(42)
+  private val symbols = "X/-|0123456789a"
+  private val frames = Seq("X", "--", "9-", "-9", "5/", "-/", "72", "81", "1/", "33", "X5", "/5", "56", "//", "5", "", "123")
+  private val bonuses = Seq("", "X", "5", "-", "XX", "X5", "81", "5/", "123", "|", "||5", "||||", "|||")
+
+  private def randomInput = (1 to random.nextInt(30)).map(_ => symbols(random.nextInt(symbols.length))).mkString
+
+  private def randomGame = {
+    val main = (1 to 8 + random.nextInt(4)).map(_ => frames(random.nextInt(frames.size))).mkString("|")
+    main + "||" + bonuses(random.nextInt(bonuses.size))
+  }
+
+  private def check(input:String) = {
+    assert(FastGameService.tryCalculateScore(input) === ClassicGameService.tryCalculateScore(input), s"input '$input'")
+    ClassicGameServiceNoValidator.tryCalculateScore(input) match {
+      case Right(score) => assert(FastGameServiceNoValidator.tryCalculateScore(input) === Right(score), s"input '$input'")
+      //format errors are the same, other errors of not validated games are implementation-specific
+      case Left(error) if error == FastParser.error(-1) || error == FastParser.error(-2) =>
+        assert(FastGameServiceNoValidator.tryCalculateScore(input) === Left(error), s"input '$input'")
+      case Left(_) =>
+    }
+  }
+
+  test("Fast service should give same results as classic service on random symbols") {
+    (1 to 100000).foreach(_ => check(randomInput))
+  }
+  test("Fast service should give same results as classic service on random frames") {
+    (1 to 100000).foreach(_ => check(randomGame))
+  }
+  test("Fast service should give same results as classic service on generated games") {
+    GameGenerator.games(21, 20000, 0.3, 0.3, 0.3).foreach(check)
+  }
+  test("Fast service should give same results as classic service on corner cases") {
+    Seq(null, "", "||", "||||", "|||", "|||X", "||X", "|X||", "X|X|X|X|X|X|X|X|X|X||XX||5", "X|X|X|X|X|X|X|X|X|X||||5",
+        "X|X|X|X|X|X|X|X|X||||5", "11|11|11|11|11|11|11|11|11|11||||", "11|11|11|11|11|11|11|11|11|11|||||")
+      .foreach(check)
+  }
+  test("Fast service should throw error of incorrect input and score batches") {
+    assert(FastGameService.calculateScore("X|X|X|X|X|X|X|X|X|X||XX") === 300)
+    assert(intercept[InputException](FastGameService.calculateScore("X|X||")).getMessage === FullValidator.COUNT_FRAME_ERROR)
+    val games = GameGenerator.games(5, 3000, 0.3, 0.3, 0)
+    assert(FastGameService.calculateScores(games) === ClassicGameService.calculateScores(games))
+  }
+  test("Fast calculation should score parsed games") {
+    GameGenerator.games(8, 1000, 0.3, 0.3, 0).foreach { game =>
+      assert(FastCalculation.score(Parser(FullValidator).parse(game)) === ClassicGameService.calculateScore(game), game)
+    }
+  }
+}
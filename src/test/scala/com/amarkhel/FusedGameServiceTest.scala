@@ -0,0 +1,89 @@
+package com.amarkhel
+
+import _root_.java.nio.charset.StandardCharsets.US_ASCII
+import _root_.java.nio.{BufferUnderflowException, ByteBuffer}
+
+import com.amarkhel.benchmark.GameGenerator
+import com.amarkhel.java.{ErrorCode, FusedGameService, ParseException, GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+import scala.util.{Failure, Random, Success, Try}
+
+class FusedGameServiceTest extends FunSuite {
+
+  private val random = new Random(42)
+  private val symbols = "X/-|0123456789a"
+  private val frames = Seq("X", "--", "9-", "-9", "5/", "-/", "72", "81", "1/", "33", "X5", "/5", "56", "//", "5", "", "123")
+  private val bonuses = Seq("", "X", "5", "-", "XX", "X5", "81", "5/", "123", "|", "||5", "||||", "|||")
+
+  private def randomInput = (1 to random.nextInt(30)).map(_ => symbols(random.nextInt(symbols.length))).mkString
+
+  private def randomGame = {
+    val main = (1 to 8 + random.nextInt(4)).map(_ => frames(random.nextInt(frames.size))).mkString("|")
+    main + "||" + bonuses(random.nextInt(bonuses.size))
+  }
+
+  private def check(input:String) = {
+    (Try(JavaGameService.classic.calculateScore(input)), Try(FusedGameService.instance.score(input))) match {
+      case (Success(expected), Success(actual)) => assert(actual === expected, s"Wrong score for input '$input'")
+      case (Failure(expected:ParseException), Failure(actual)) => assert(actual.getMessage === expected.getMessage, s"Wrong error for input '$input'")
+      case (Failure(_), Failure(_)) =>
+      case (expected, actual) => fail(s"Input '$input' gives $actual, but $expected expected")
+    }
+  }
+
+  test("Fused service should give same results as classic service on random symbols") {
+    (1 to 100000).foreach(_ => check(randomInput))
+  }
+  test("Fused service should give same results as classic service on random frames") {
+    (1 to 100000).foreach(_ => check(randomGame))
+  }
+  test("Fused service should give same results as classic service on corner cases") {
+    Seq(null, "", "||", "||||", "|||", "|||X", "||X", "|X||", "X|X|X|X|X|X|X|X|X|X||XX||5", "X|X|X|X|X|X|X|X|X|X||||5",
+        "X|X|X|X|X|X|X|X|X||||5", "11|11|11|11|11|11|11|11|11|11||||", "11|11|11|11|11|11|11|11|11|11|||||")
+      .foreach(check)
+  }
+  test("Fused service should accept any CharSequence") {
+    assert(FusedGameService.instance.score(new _root_.java.lang.StringBuilder("X|7/|9-|X|-8|8/|-6|X|X|X||81")) === 167)
+  }
+  test("Fused service should score games from byte slices without moving position") {
+    val games = GameGenerator.games(17, 2000, 0.3, 0.3, 0.2)
+    val bytes = games.mkString("#", "\n", "#").getBytes(US_ASCII)
+    val heap = ByteBuffer.wrap(bytes)
+    val direct = ByteBuffer.allocateDirect(bytes.length)
+    direct.put(bytes).flip()
+    var offset = 1
+    games.foreach { game =>
+      val expected = JavaGameService.classic.tryCalculateScore(game)
+      assert(FusedGameService.instance.tryScore(bytes, offset, game.length) === expected, game)
+      assert(FusedGameService.instance.tryScore(heap, offset, game.length) === expected, game)
+      assert(FusedGameService.instance.tryScore(direct, offset, game.length) === expected, game)
+      assert(FusedGameService.instance.tryScore(direct.asReadOnlyBuffer, offset, game.length) === expected, game)
+      offset += game.length + 1
+    }
+    assert(heap.position === 0 && direct.position === 0)
+    assert(FusedGameService.instance.tryScore(bytes, 0, 0).getError === ErrorCode.WRONG_FORMAT)
+    intercept[IndexOutOfBoundsException](FusedGameService.instance.tryScore(bytes, bytes.length - 1, 2))
+    intercept[IndexOutOfBoundsException](FusedGameService.instance.tryScore(heap, -1, 2))
+  }
+  test("Fused service should score games packed back to back and move position after each one") {
+    val games = GameGenerator.games(19, 2000, 0.3, 0.3, 0.2)
+    val buffer = ByteBuffer.allocateDirect(games.map(_.length).sum)
+    games.foreach(game => buffer.put(game.getBytes(US_ASCII)))
+    buffer.flip()
+    val slice = ByteBuffer.wrap(("??" + games.mkString).getBytes(US_ASCII), 2, buffer.limit).slice()
+    games.foreach { game =>
+      val expected = JavaGameService.classic.tryCalculateScore(game)
+      assert(FusedGameService.instance.tryScore(buffer, game.length) === expected, game)
+      assert(FusedGameService.instance.tryScore(slice, game.length) === expected, game)
+    }
+    assert(!buffer.hasRemaining && !slice.hasRemaining)
+    buffer.position(buffer.limit - 1)
+    intercept[BufferUnderflowException](FusedGameService.instance.score(buffer, 2))
+    assert(buffer.position === buffer.limit - 1)
+    val packed = ByteBuffer.wrap("X|X||X|X|X|X|X|X|X|X|X|X||XX".getBytes(US_ASCII))
+    assert(intercept[ParseException](FusedGameService.instance.score(packed, 5)).getMessage === ErrorCode.COUNT_FRAME.getMessage)
+    assert(packed.position === 5)
+    assert(FusedGameService.instance.score(packed, packed.remaining) === 300)
+  }
+}
@@ -0,0 +1,28 @@
+package com.amarkhel
+
+import com.amarkhel.benchmark.GameGenerator
+import com.amarkhel.java.{GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+class GameGeneratorTest extends FunSuite {
+
+  private def invalid(games:Array[String]) = games.count(game => JavaGameService.classic.tryCalculateScore(game).getError != null)
+
+  test("Games should be incorrect with given probability") {
+    assert(invalid(GameGenerator.games(1, 10000, 0.3, 0.3, 0)) === 0)
+    assert(invalid(GameGenerator.games(1, 10000, 0.3, 0.3, 1)) === 10000)
+    assert(math.abs(invalid(GameGenerator.games(1, 10000, 0.3, 0.3, 0.15)) - 1500) < 150)
+  }
+  test("Frames should have given density of strikes and spares") {
+    val frames = GameGenerator.games(2, 10000, 0.2, 0.5, 0).flatMap(_.split("\\|\\|").head.split("\\|"))
+    assert(math.abs(frames.count(_ == "X") / frames.length.toDouble - 0.2) < 0.01)
+    assert(math.abs(frames.count(_.endsWith("/")) / frames.length.toDouble - 0.5) < 0.01)
+  }
+  test("Games should be reproducible by seed") {
+    assert(GameGenerator.games(3, 100, 0.3, 0.3, 0.5) === GameGenerator.games(3, 100, 0.3, 0.3, 0.5))
+  }
+  test("Rates should be probabilities") {
+    intercept[IllegalArgumentException](GameGenerator.games(1, 1, 0.6, 0.6, 0))
+    intercept[IllegalArgumentException](GameGenerator.games(1, 1, 0.3, 0.3, 2))
+  }
+}
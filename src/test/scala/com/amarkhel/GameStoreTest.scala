@@ -0,0 +1,143 @@
+package com.amarkhel
+
+import _root_.java.nio.ByteBuffer
+import _root_.java.nio.channels.FileChannel
+import _root_.java.nio.file.{Files, Path, StandardOpenOption}
+import _root_.java.util.Comparator
+
+import com.amarkhel.benchmark.GameGenerator
+import com.amarkhel.java.store.{GameStore, StoredGame}
+import com.amarkhel.java.validator.{Validator => JavaValidator}
+import com.amarkhel.java.{PackedCalculation, PackedGame, ClassicCalculation => JavaClassicCalculation, GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+import scala.collection.mutable.ArrayBuffer
+import scala.util.Random
+
+class GameStoreTest extends FunSuite {
+
+  private val SegmentRecords = 2048
+  private val games = GameGenerator.legalGames(17, 5000)
+  private val scores = games.map(game => JavaGameService.classic.calculateScore(game))
+
+  private def withDirectory(test:Path => Unit) : Unit = {
+    val directory = Files.createTempDirectory("game-store")
+    try test(directory) finally Files.walk(directory).sorted(Comparator.reverseOrder[Path]).forEach(path => Files.delete(path))
+  }
+
+  private def fill(store:GameStore, count:Int) = (0 until count).foreach(i => store.append(games(i), i % 7, 1000L + i))
+
+  private def collect(store:GameStore, fromTime:Long, toTime:Long) = {
+    val found = ArrayBuffer.empty[StoredGame]
+    store.forEachBetween(fromTime, toTime, game => found += game)
+    found
+  }
+
+  private def corrupt(file:Path, position:Long, bytes:Array[Byte]) = {
+    val channel = FileChannel.open(file, StandardOpenOption.WRITE)
+    try channel.write(ByteBuffer.wrap(bytes), position) finally channel.close()
+  }
+
+  test("Stored games should be read by id with metadata") {
+    withDirectory { directory =>
+      val store = GameStore.open(directory, SegmentRecords)
+      fill(store, games.length)
+      assert(store.size === games.length)
+      assert(Files.exists(directory.resolve("00000002.segment")))
+      Seq(0, 1023, 1024, 2047, 2048, 4999).foreach { id =>
+        val stored = store.get(id)
+        assert(stored.getId === id && stored.getBowler === id % 7 && stored.getTimestamp === 1000L + id)
+        assert(stored.getGame.toString === games(id))
+      }
+      assert(store.append(PackedGame.parse(games(0))) === games.length)
+      assert(store.get(games.length).getBowler === 0 && store.get(games.length).getTimestamp === 0)
+      assertThrows[IndexOutOfBoundsException](store.get(games.length + 1))
+      assertThrows[IndexOutOfBoundsException](store.get(-1))
+      assertThrows[Exception](store.append("X|X|X|X|X|X|X|X|X|X||", 1, 1))
+      store.close()
+      assertThrows[IllegalStateException](store.append(PackedGame.parse(games(0))))
+    }
+  }
+  test("Reopened store should continue the same log") {
+    withDirectory { directory =>
+      val store = GameStore.open(directory, SegmentRecords)
+      fill(store, 3000)
+      store.close()
+      val reopened = GameStore.open(directory, SegmentRecords)
+      assert(reopened.size === 3000)
+      assert(reopened.append(games(3000), 1, 4000) === 3000)
+      assert(reopened.get(2999).getGame.toString === games(2999))
+      reopened.close()
+      assertThrows[_root_.java.io.IOException](GameStore.open(directory, 2 * SegmentRecords))
+    }
+  }
+  test("Time range should return the same games as filter over all games") {
+    withDirectory { directory =>
+      val store = GameStore.open(directory, SegmentRecords)
+      val random = new Random(3)
+      val times = (0 until games.length).map(i => if (random.nextInt(50) == 0) random.nextInt(10000).toLong else 10L * i)
+      games.indices.foreach(i => store.append(games(i), i, times(i)))
+      Seq((0L, 100L), (5000L, 5100L), (20000L, 30000L), (49990L, 60000L), (-10L, 0L), (0L, Long.MaxValue)).foreach { case (from, to) =>
+        val expected = games.indices.filter(i => times(i) >= from && times(i) < to)
+        assert(collect(store, from, to).map(_.getId.toInt) === expected, (from, to))
+      }
+      store.close()
+    }
+  }
+  test("Replay should score stored games by any calculation") {
+    withDirectory { directory =>
+      val store = GameStore.open(directory, SegmentRecords)
+      fill(store, games.length)
+      assert(store.replay(new PackedCalculation, 0, games.length).toSeq === scores.toSeq)
+      assert(store.replay(new JavaClassicCalculation, 100, 3000).toSeq === scores.slice(100, 3000).toSeq)
+      assert(store.replay(new JavaClassicCalculation, 10, 10).isEmpty)
+      assertThrows[IndexOutOfBoundsException](store.replay(new PackedCalculation, 0, games.length + 1))
+      store.close()
+    }
+  }
+  test("Changed validator should report ids of rejected games") {
+    withDirectory { directory =>
+      val store = GameStore.open(directory, SegmentRecords)
+      fill(store, games.length)
+      val noStrikeInFirstFrame : JavaValidator = frames =>
+        if (frames.get(0).isStrike) _root_.java.util.Optional.of("Strike in the first frame") else _root_.java.util.Optional.empty[String]()
+      val expected = games.indices.filter(i => games(i).startsWith("X")).map(_.toLong)
+      assert(store.invalid(noStrikeInFirstFrame, 0, games.length).toSeq === expected)
+      store.close()
+    }
+  }
+  test("Store should recover the tail after crash") {
+    withDirectory { directory =>
+      val crashed = GameStore.open(directory, SegmentRecords)
+      fill(crashed, 3000)
+      //torn last record and garbage after it
+      corrupt(directory.resolve("00000001.segment"), (2999 - SegmentRecords) * GameStore.RECORD_SIZE + 4, Array[Byte](1, 2, 3))
+      corrupt(directory.resolve("00000001.segment"), (3000 - SegmentRecords) * GameStore.RECORD_SIZE, Array[Byte](9, 9, 9))
+      val recovered = GameStore.open(directory, SegmentRecords)
+      assert(recovered.size === 2999)
+      assert(recovered.append(games(2999), 0, 3999) === 2999)
+      assert(recovered.append(games(3000), 0, 4000) === 3000)
+      recovered.close()
+      val reopened = GameStore.open(directory, SegmentRecords)
+      assert(reopened.size === 3001)
+      assert(reopened.replay(new PackedCalculation, 0, 3001).toSeq === scores.take(3001).toSeq)
+      reopened.close()
+    }
+  }
+  test("Store should rebuild lost or torn index entries") {
+    withDirectory { directory =>
+      val store = GameStore.open(directory, SegmentRecords)
+      fill(store, 4500)
+      store.close()
+      val index = directory.resolve("index")
+      assert(Files.size(index) === 4 * 16)
+      val channel = FileChannel.open(index, StandardOpenOption.WRITE)
+      try channel.truncate(16 + 5) finally channel.close()
+      val recovered = GameStore.open(directory, SegmentRecords)
+      assert(recovered.size === 4500)
+      assert(Files.size(index) === 4 * 16)
+      assert(collect(recovered, 3000, 3100).map(_.getId.toInt) === (2000 until 2100))
+      recovered.close()
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.amarkhel
+
+import com.amarkhel.java.{ErrorCode, IncrementalScorer, ParseException, GameService => JavaGameService}
+import com.amarkhel.java.validator.Validator._
+import org.scalatest.FunSuite
+
+import scala.collection.mutable.ListBuffer
+import scala.util.Random
+
+class IncrementalScorerTest extends FunSuite {
+
+  private val games = Seq("X|X|X|X|X|X|X|X|X|X||XX", "--|--|--|--|--|--|--|--|--|--||", "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5",
+    "X|7/|9-|X|-8|8/|-6|X|X|X||81", "12|34|54|72|9/|X|-1|23|45|63||", "5/|X|5/|X|5/|X|5/|X|5/|5/||X", "X|X|X|X|X|X|X|X|X|X||99")
+
+  private def play(game:String) = {
+    val scorer = new IncrementalScorer
+    game.filter(_ != '|').foreach(scorer.roll)
+    scorer
+  }
+
+  private def rejected(balls:String, message:String) = {
+    val scorer = new IncrementalScorer
+    balls.init.foreach(scorer.roll)
+    val score = scorer.getScore
+    val thrown = intercept[ParseException](scorer.roll(balls.last))
+    assert(thrown.getMessage === message)
+    assert(scorer.getScore === score)
+  }
+
+  test("Complete game should have the same score as parsed one") {
+    games.foreach { game =>
+      val scorer = play(game)
+      assert(scorer.isComplete, game)
+      assert(scorer.getScore === JavaGameService.classic.calculateScore(game), game)
+      assert(scorer.getScoredFrames === 10, game)
+      assert((0 until 10).map(scorer.getFrameScore).sum === scorer.getScore, game)
+    }
+  }
+  test("Random games rolled by pins should have the same score as parsed ones") {
+    val random = new Random(7)
+    def symbol(pins:Int) = pins match { case 10 => "X" case 0 => "-" case _ => pins.toString }
+    (1 to 10000).foreach { _ =>
+      val scorer = new IncrementalScorer
+      val frames = ListBuffer.empty[String]
+      val bonus = new StringBuilder
+      var first = Option.empty[Int]
+      while (!scorer.isComplete) {
+        if (scorer.getFrame == 10) {
+          val pins = random.nextInt(11)
+          scorer.roll(pins)
+          bonus.append(symbol(pins))
+        } else first match {
+          case None =>
+            val pins = random.nextInt(11)
+            scorer.roll(pins)
+            if (pins == 10) frames += "X" else first = Some(pins)
+          case Some(firstPins) =>
+            val pins = random.nextInt(11 - firstPins)
+            scorer.roll(pins)
+            frames += symbol(firstPins) + (if (firstPins + pins == 10) "/" else symbol(pins))
+            first = None
+        }
+      }
+      val game = frames.mkString("|") + "||" + bonus
+      assert(scorer.getScore === JavaGameService.classic.calculateScore(game), game)
+    }
+  }
+  test("Running score should count only known points") {
+    val scorer = new IncrementalScorer
+    scorer.roll('X')
+    assert(scorer.getScore === 10 && scorer.getScoredFrames === 0)
+    scorer.roll('7')
+    assert(scorer.getScore === 24 && scorer.getScoredFrames === 0)
+    scorer.roll('/')
+    assert(scorer.getScore === 30 && scorer.getScoredFrames === 1 && scorer.getFrameScore(0) === 20)
+    scorer.roll(9)
+    assert(scorer.getScore === 48 && scorer.getScoredFrames === 2 && scorer.getFrameScore(1) === 19)
+  }
+  test("Scorer should be reusable after reset") {
+    val scorer = play("X|X|X|X|X|X|X|X|X|X||XX")
+    scorer.reset()
+    "9-9-9-9-9-9-9-9-9-9-".foreach(scorer.roll)
+    assert(scorer.isComplete && scorer.getScore === 90)
+  }
+  test("Incorrect balls should be rejected") {
+    rejected("1a", ErrorCode.WRONG_FORMAT.getMessage)
+    rejected("0", ErrorCode.WRONG_FORMAT.getMessage)
+    rejected("/", SPARE_FRAME_INCORRECT)
+    rejected("-X", STRIKE_FRAME_INCORRECT)
+    rejected("1X", PIN_SUM_FRAME_ERROR)
+    rejected("55", FRAME_INCORRECT)
+    rejected("56", PIN_SUM_FRAME_ERROR)
+    rejected("XXXXXXXXXX5/", ErrorCode.SPARE_FRAME_BONUS.getMessage)
+    rejected("XXXXXXXXXXXXX", BONUS_FRAME_INCORRECT)
+    rejected("9-9-9-9-9-9-9-9-9-9-1", BONUS_FRAME_INCORRECT)
+    rejected("XXXXXXXXX5/55", BONUS_FRAME_INCORRECT)
+  }
+  test("Rejected ball should get the same error as parsed game") {
+    Seq("-X", "1X", "9X", "55", "56", "/").foreach { frame =>
+      val scorer = new IncrementalScorer
+      val error = intercept[ParseException](frame.foreach(scorer.roll)).getMessage
+      assert(error === JavaGameService.classic.tryCalculateScore(frame + "|--" * 9 + "||").getError.getMessage, frame)
+    }
+  }
+  test("Incorrect pins should be rejected") {
+    val scorer = new IncrementalScorer
+    assert(intercept[ParseException](scorer.roll(11)).getMessage === BALL_COUNT_PINS_ERROR)
+    assert(intercept[ParseException](scorer.roll(-1)).getMessage === BALL_COUNT_PINS_ERROR)
+    scorer.roll(6)
+    assert(intercept[ParseException](scorer.roll(5)).getMessage === PIN_SUM_FRAME_ERROR)
+  }
+}
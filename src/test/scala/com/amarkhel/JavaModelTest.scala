@@ -0,0 +1,39 @@
+package com.amarkhel
+
+import com.amarkhel.java.model.{Ball => JavaBall, Frame => JavaFrame, Game => JavaGame}
+import org.scalatest.FunSuite
+
+import scala.collection.JavaConverters._
+
+class JavaModelTest extends FunSuite {
+
+  test("Correct balls should be interned") {
+    assert(JavaBall.strike(false) eq JavaBall.strike(false))
+    assert(JavaBall.usual(7, true) eq JavaBall.of(7, true, false, false))
+    assert(JavaBall.spare(3, false) eq JavaBall.of(3, false, true, false))
+    assert(JavaBall.miss(false) === new JavaBall(0, false, false, false))
+  }
+  test("Incorrect balls should not be interned") {
+    val ball = JavaBall.spare(-5, false)
+    assert(ball.getPins === -5 && ball.isSpare && !ball.isCorrect)
+    assert(ball === JavaBall.spare(-5, false))
+  }
+  test("Frame should keep flags and total of its balls") {
+    val spare = new JavaFrame(List(JavaBall.usual(9, false), JavaBall.spare(1, false)).asJava)
+    assert(spare.isSpare && !spare.isStrike && !spare.isBonus && spare.isMaxEarned && spare.getTotal === 10 && spare.haveCorrectSum)
+    val bonus = new JavaFrame(List(JavaBall.strike(true), JavaBall.strike(true)).asJava)
+    assert(bonus.isBonus && !bonus.isStrike && bonus.isSpecial && bonus.getTotal === 20 && !bonus.haveCorrectSum)
+    assert(spare === new JavaFrame(List(JavaBall.usual(9, false), JavaBall.spare(1, false)).asJava))
+  }
+  test("Game should keep flat rolls of all frames") {
+    val frames = List(new JavaFrame(List(JavaBall.strike(false)).asJava), new JavaFrame(List(JavaBall.usual(3, false), JavaBall.miss(false)).asJava),
+      new JavaFrame(List(JavaBall.usual(5, true)).asJava))
+    val game = new JavaGame(frames.asJava)
+    assert(game.getRollsCount === 4)
+    assert((0 until 4).map(game.getRoll) === Seq(10, 3, 0, 5))
+    assert(game.getRolls.asScala.map(_.intValue) === Seq(10, 3, 0, 5))
+    assert(game.getBalls.asScala === frames.flatMap(_.getBalls.asScala))
+    assert(game.getBalls eq game.getBalls)
+    assert(game === new JavaGame(frames.asJava))
+  }
+}
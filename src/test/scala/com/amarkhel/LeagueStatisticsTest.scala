@@ -0,0 +1,91 @@
+package com.amarkhel
+
+import _root_.java.util.Arrays
+
+import com.amarkhel.benchmark.GameGenerator
+import com.amarkhel.java.{ErrorCode, LeagueStatistics, Parser => JavaParser, GameService => JavaGameService}
+import com.amarkhel.java.validator.{FullValidator => JavaFullValidator}
+import org.scalatest.FunSuite
+
+import scala.collection.JavaConverters._
+
+class LeagueStatisticsTest extends FunSuite {
+
+  private val games = GameGenerator.games(13, 20000, 0.3, 0.3, 0.1)
+
+  test("Statistics should match scores and frames produced by parser") {
+    val statistics = new LeagueStatistics
+    val parser = new JavaParser(new JavaFullValidator)
+    var strikes, spares, valid = 0L
+    var scores = List.empty[Int]
+    games.foreach { game =>
+      val result = JavaGameService.classic.tryCalculateScore(game)
+      assert(statistics.add(game) === (if (result.isSuccess) result.getScore else -result.getError.getCode), game)
+      if (result.isSuccess) {
+        val frames = parser.parse(game).getFrames.asScala.filterNot(_.isBonus)
+        strikes += frames.count(_.isStrike)
+        spares += frames.count(_.isSpare)
+        valid += 1
+        scores ::= result.getScore
+      }
+    }
+    assert(statistics.getGames === valid)
+    assert(statistics.getInvalidGames === games.length - valid)
+    assert(statistics.getStrikes === strikes)
+    assert(statistics.getSpares === spares)
+    assert(statistics.getOpenFrames === valid * 10 - strikes - spares)
+    assert(statistics.getTotal === scores.map(_.toLong).sum)
+    assert(statistics.getHighGame === scores.max)
+    assert(statistics.getLowGame === scores.min)
+    assert(statistics.getPercentile(50) === scores.sorted.apply((scores.size + 1) / 2 - 1))
+    assert((0 to 300).map(statistics.getScoreCount).sum === valid)
+  }
+  test("Parsed games should be counted as text ones") {
+    val text = new LeagueStatistics
+    val parsed = new LeagueStatistics
+    val parser = new JavaParser(new JavaFullValidator)
+    games.take(2000).filter(JavaGameService.classic.tryCalculateScore(_).isSuccess).foreach { game =>
+      text.add("bowler", game)
+      parsed.add("bowler", parser.parse(game), JavaGameService.classic.calculateScore(game))
+    }
+    assert(parsed.getStrikes === text.getStrikes)
+    assert(parsed.getSpares === text.getSpares)
+    assert(parsed.getTotal === text.getTotal)
+    assert(parsed.getSeries("bowler").getTotal === text.getSeries("bowler").getTotal)
+  }
+  test("Parsed game with impossible score should be rejected") {
+    val statistics = new LeagueStatistics
+    val game = new JavaParser(new JavaFullValidator).parse("X|X|X|X|X|X|X|X|X|X||XX")
+    assertThrows[IllegalArgumentException](statistics.add("bowler", game, 301))
+    assertThrows[IllegalArgumentException](statistics.add("bowler", game, -1))
+    assert(statistics.getGames === 0 && statistics.getStrikes === 0 && statistics.getSeries("bowler") === null)
+  }
+  test("Parallel collection should be equal to sequential one") {
+    val sequential = Arrays.stream(games).collect(LeagueStatistics.collector())
+    val parallel = Arrays.stream(games).parallel().collect(LeagueStatistics.collector())
+    assert(parallel.getGames === sequential.getGames)
+    assert(parallel.getTotal === sequential.getTotal)
+    assert(parallel.getStrikes === sequential.getStrikes)
+    assert(parallel.getSpares === sequential.getSpares)
+    assert(parallel.getHighGame === sequential.getHighGame)
+    ErrorCode.values().foreach(error => assert(parallel.getInvalidGames(error) === sequential.getInvalidGames(error)))
+    (0 to 300).foreach(score => assert(parallel.getScoreCount(score) === sequential.getScoreCount(score)))
+  }
+  test("Series should be kept per bowler") {
+    val bowlers = games.indices.map(i => ("bowler" + i % 7, games(i)))
+    val statistics = bowlers.asJava.parallelStream().collect(LeagueStatistics.collector[(String, String)](_._1, _._2))
+    assert(statistics.getSeries.size === 7)
+    bowlers.groupBy(_._1).foreach { case (bowler, played) =>
+      val scores = played.map(_._2).map(JavaGameService.classic.tryCalculateScore).filter(_.isSuccess).map(_.getScore)
+      val series = statistics.getSeries(bowler)
+      assert(series.getGames === scores.size)
+      assert(series.getTotal === scores.map(_.toLong).sum)
+      assert(series.getHigh === scores.max)
+    }
+    assert(statistics.getSeries("unknown") === null)
+  }
+  test("Empty statistics should have no games") {
+    val statistics = new LeagueStatistics
+    assert(statistics.getMean === 0 && statistics.getHighGame === -1 && statistics.getPercentile(99) === -1 && statistics.getStrikeRate === 0)
+  }
+}
@@ -0,0 +1,39 @@
+package com.amarkhel
+
+import _root_.java.nio.ByteBuffer
+
+import com.amarkhel.java.{PackedCalculation, PackedGame, ClassicCalculation => JavaClassicCalculation, GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+class PackedGameTest extends FunSuite {
+
+  private val games = Seq("X|X|X|X|X|X|X|X|X|X||XX", "--|--|--|--|--|--|--|--|--|--||", "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5",
+    "X|7/|9-|X|-8|8/|-6|X|X|X||81", "12|34|54|72|9/|X|-1|23|45|63||", "5/|X|5/|X|5/|X|5/|X|5/|5/||X", "X|X|X|X|X|X|X|X|X|X||99",
+    "-/|-/|-/|-/|-/|-/|-/|-/|-/|-/||-", "X|X|X|X|X|X|X|X|X|X||X-", "1/|1/|1/|1/|1/|1/|1/|1/|1/|1/||2")
+  private val calculation = new PackedCalculation
+
+  test("Packed game should be restored to the same text") {
+    games.foreach(game => assert(PackedGame.parse(game).toString === game))
+  }
+  test("Packed game should have the same score as parsed one") {
+    games.foreach(game => assert(calculation.score(PackedGame.parse(game)) === JavaGameService.classic.calculateScore(game), game))
+  }
+  test("Unpacked game should have the same score as parsed one") {
+    games.foreach(game => assert(new JavaClassicCalculation().score(PackedGame.parse(game).toGame) === JavaGameService.classic.calculateScore(game), game))
+  }
+  test("Packed game should be restored from bytes") {
+    games.foreach { game =>
+      val packed = PackedGame.parse(game)
+      val bytes = packed.toBytes
+      assert(bytes.length === PackedGame.SIZE_BYTES)
+      assert(PackedGame.readFrom(ByteBuffer.wrap(bytes)) === packed)
+    }
+  }
+  test("Packed game should keep count of balls") {
+    assert(PackedGame.parse("X|X|X|X|X|X|X|X|X|X||XX").getBallsCount === 12)
+    assert(PackedGame.parse("5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5").getBallsCount === PackedGame.MAX_BALLS)
+  }
+  test("Incorrect game should not be packed") {
+    assertThrows[Exception](PackedGame.parse("X|X|X|X|X|X|X|X|X|X||"))
+  }
+}
@@ -0,0 +1,93 @@
+package com.amarkhel
+
+import com.amarkhel.benchmark.GameGenerator
+import com.amarkhel.java.validator.{FullValidator => JavaFullValidator, ProfileValidator}
+import com.amarkhel.java.{ClassicCalculation => JavaClassicCalculation, GameService => JavaGameService, Parser => JavaParser, _}
+import org.scalatest.FunSuite
+
+import scala.util.{Random, Try}
+
+class RuleProfileTest extends FunSuite {
+
+  private val random = new Random(42)
+  private val frames = Seq("X", "--", "9-", "-9", "5/", "-/", "72", "81", "1/", "33", "X5", "/5", "56", "//", "5", "", "123", "9", "12/", "1/2", "111")
+  private val bonuses = Seq("", "X", "5", "-", "XX", "X5", "81", "5/", "123", "|", "9", "99")
+
+  private def randomGame(count:Int) = {
+    val main = (1 to count - 2 + random.nextInt(4)).map(_ => frames(random.nextInt(frames.size))).mkString("|")
+    main + "||" + bonuses(random.nextInt(bonuses.size))
+  }
+
+  private def result(service:JavaGameService, game:String) = {
+    val result = service.tryCalculateScore(game)
+    if (result.isSuccess) Right(result.getScore) else Left(result.getMessage)
+  }
+
+  test("Standard profile should be compiled to existing classes") {
+    assert(RuleProfile.of("custom", 10, 10, 2, 10) eq RuleProfile.STANDARD)
+    assert(RuleProfile.STANDARD.service eq JavaGameService.classic)
+    assert(RuleProfile.STANDARD.calculation.isInstanceOf[JavaClassicCalculation])
+    assert(RuleProfile.STANDARD.validator.isInstanceOf[JavaFullValidator])
+    assert(RuleProfile.STANDARD.getMaxScore === 300)
+  }
+  test("Incorrect profiles should be rejected") {
+    intercept[IllegalArgumentException](RuleProfile.of("no frames", 0, 10, 2, 10))
+    intercept[IllegalArgumentException](RuleProfile.of("too many pins", 10, 11, 2, 10))
+    intercept[IllegalArgumentException](RuleProfile.of("one ball", 10, 10, 1, 10))
+    intercept[IllegalArgumentException](RuleProfile.of("strike over pins", 10, 9, 2, 10))
+  }
+  test("Generic validator and calculations of standard profile should be the same as full validator and classic calculation") {
+    val full = new JavaParser(new JavaFullValidator)
+    val profile = new JavaParser(new ProfileValidator(RuleProfile.STANDARD), RuleProfile.STANDARD)
+    (1 to 50000).map(_ => randomGame(10)).foreach { game =>
+      assert(Try(profile.parse(game)).failed.map(_.getMessage).toOption === Try(full.parse(game)).failed.map(_.getMessage).toOption, game)
+    }
+    val generic = new ProfileCalculation(RuleProfile.STANDARD)
+    GameGenerator.legalGames(7, 10000).map(full.parse).foreach { game =>
+      assert(generic.score(game) === new JavaClassicCalculation().score(game), game)
+    }
+  }
+  test("Short format should have 5 frames") {
+    val service = RuleProfile.SHORT.service
+    assert(result(service, "X|X|X|X|X||XX") === Right(150))
+    assert(result(service, "9-|9-|9-|9-|9-||") === Right(45))
+    assert(result(service, "5/|5/|5/|5/|5/||5") === Right(75))
+    assert(result(service, "X|X|X|X|X|X|X|X|X|X||XX") === Left("Count of non-bonus frames should be equal to 5"))
+    assert(result(service, "9-|9-|9-|9-|X||") === Left("If 5th frame is strike or spare, then bonus frame should present"))
+  }
+  test("Nine pins on the first ball should be strike in no-tap format") {
+    val service = RuleProfile.NINE_PIN_NO_TAP.service
+    assert(result(service, "X|X|X|X|X|X|X|X|X|X||XX") === Right(300))
+    assert(result(service, "9|9|9|9|9|9|9|9|9|9||99") === Right(300))
+    assert(result(service, "9|9|9|9|9|9|9|9|9|9||9X") === Right(300))
+    assert(result(service, "9|9|9|9|9|9|9|9|9|9||79") === Right(240 + 27 + 26))
+    assert(result(service, "9|8/|9|7-|X|X|X|9|9|9||9X") === Right(20 + 20 + 17 + 7 + 30 + 30 + 30 + 30 + 30 + 30))
+    assert(result(service, "9-|9|9|9|9|9|9|9|9|9||99") === Left("Strike frame should contain only one ball and it pins should be 9"))
+    assert(result(service, "X|X|X|X|X|X|X|X|X|9||9") === Left(ErrorCode.BONUS_FRAME.getMessage))
+  }
+  test("Candlepin frames should have up to 3 balls and ten-box should earn no bonus") {
+    val service = RuleProfile.CANDLEPIN.service
+    assert(result(service, "X|X|X|X|X|X|X|X|X|X||XX") === Right(300))
+    assert(result(service, "123|123|123|123|123|123|123|123|123|123||") === Right(60))
+    assert(result(service, "12/|12/|12/|12/|12/|12/|12/|12/|12/|12/||") === Right(100))
+    assert(result(service, "1/|1/|1/|1/|1/|1/|1/|1/|1/|1/||5") === Right(9 * 11 + 15))
+    assert(result(service, "X|12/|X|1/|123|X|X|X|X|X||X9") === Right(13 + 10 + 20 + 11 + 6 + 30 + 30 + 30 + 30 + 29))
+    assert(result(service, "12/|12/|12/|12/|12/|12/|12/|12/|12/|12/||5") === Left(ErrorCode.BONUS_FRAME.getMessage))
+    assert(result(service, "1/-|12/|12/|12/|12/|12/|12/|12/|12/|12/||") === Left("Spare frame should contain 3 balls and sum of its pins should be equal to 10"))
+    assert(result(service, "12|12/|12/|12/|12/|12/|12/|12/|12/|12/||") ===
+      Left("Non-spare and non-strike frames should contain exactly 3 balls and its sum should be less then 10"))
+    assert(result(service, "1234|12/|12/|12/|12/|12/|12/|12/|12/|12/||").isLeft)
+  }
+  test("Specialized two-ball calculation should be the same as generic one") {
+    Seq(RuleProfile.SHORT, RuleProfile.NINE_PIN_NO_TAP, RuleProfile.of("6-frame no-tap", 6, 10, 2, 8)).foreach { profile =>
+      val parser = profile.parser
+      val specialized = profile.calculation
+      val generic = new ProfileCalculation(profile)
+      (1 to 20000).map(_ => randomGame(profile.getFrames)).flatMap(game => Try(parser.parse(game)).toOption).foreach { game =>
+        val score = specialized.score(game)
+        assert(score === generic.score(game), game)
+        assert(score <= profile.getMaxScore, game)
+      }
+    }
+  }
+}
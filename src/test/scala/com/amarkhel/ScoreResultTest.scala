@@ -0,0 +1,67 @@
+package com.amarkhel
+
+import com.amarkhel.java.{ErrorCode, FusedGameService, ParseException, ScoreResult, GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+import scala.util.{Failure, Random, Success, Try}
+
+class ScoreResultTest extends FunSuite {
+
+  private val random = new Random(9)
+  private val symbols = "X/-|0123456789a"
+  private val frames = Seq("X", "--", "9-", "5/", "72", "X5", "/5", "56", "//", "5", "", "123")
+  private val bonuses = Seq("", "X", "5", "XX", "81", "5/", "|", "||5")
+
+  private def randomInput = random.nextInt(3) match {
+    case 0 => (1 to random.nextInt(30)).map(_ => symbols(random.nextInt(symbols.length))).mkString
+    case _ => (1 to 9 + random.nextInt(3)).map(_ => frames(random.nextInt(frames.size))).mkString("|") + "||" +
+      bonuses(random.nextInt(bonuses.size))
+  }
+
+  private val javaServices = List(JavaGameService.classic, JavaGameService.fp, JavaGameService.classicSinglePassValidator)
+  private val scalaServices = List(ClassicGameService, FPGameService, ClassicGameServiceSinglePassValidator)
+
+  private def checkJava(input:String, expected:Try[Int], actual:ScoreResult) = expected match {
+    case Success(score) => assert(actual.isSuccess && actual.getScore === score, input)
+    case Failure(e) =>
+      assert(!actual.isSuccess && actual.getMessage === e.getMessage && actual.getError === ErrorCode.of(e.getMessage), input)
+      assert(intercept[ParseException](actual.getScore) eq actual.getError.exception(), input)
+  }
+
+  test("Result should match score or error of throwing API") {
+    (1 to 30000).foreach { _ =>
+      val input = randomInput
+      javaServices.foreach(service => checkJava(input, Try(service.calculateScore(input)), service.tryCalculateScore(input)))
+      checkJava(input, Try(FusedGameService.instance.score(input)), FusedGameService.instance.tryScore(input))
+      scalaServices.foreach { service =>
+        Try(service.calculateScore(input)) match {
+          case Success(score) => assert(service.tryCalculateScore(input) === Right(score), input)
+          case Failure(e) => assert(service.tryCalculateScore(input) === Left(e.getMessage), input)
+        }
+      }
+    }
+  }
+  test("Inputs without frames should be reported as wrong format") {
+    Seq(null, "", "||", "||||").foreach { input =>
+      assert(JavaGameService.classic.tryCalculateScore(input).getError === ErrorCode.WRONG_FORMAT)
+      assert(ClassicGameService.tryCalculateScore(input).isLeft)
+    }
+  }
+  test("Results and exceptions should be preallocated") {
+    assert(JavaGameService.classic.tryCalculateScore("X|X|X|X|X|X|X|X|X|X||XX") eq ScoreResult.success(300))
+    assert(JavaGameService.classic.tryCalculateScore("X|X||") eq ScoreResult.failure(ErrorCode.COUNT_FRAME))
+    val thrown = intercept[ParseException](JavaGameService.classic.calculateScore("X|X||"))
+    assert(thrown eq ErrorCode.COUNT_FRAME.exception())
+    assert(thrown.getStackTrace.isEmpty)
+    assert(intercept[Exception](ClassicGameService.calculateScore("X|X||")).getStackTrace.isEmpty)
+  }
+  test("Unknown errors should be kept without code") {
+    val result = ScoreResult.failure("Custom error")
+    assert(!result.isSuccess && result.getError == null && result.getMessage === "Custom error")
+    assert(intercept[ParseException](result.getScore).getMessage === "Custom error")
+  }
+  test("Calculation errors of not validated games should be returned as results") {
+    assert(!JavaGameService.classicNoValidator.tryCalculateScore("X||").isSuccess)
+    assert(Try(JavaGameService.classicNoValidator.calculateScore("X||")).isFailure)
+  }
+}
@@ -0,0 +1,91 @@
+package com.amarkhel
+
+import _root_.java.io.{ByteArrayInputStream, ByteArrayOutputStream, DataOutputStream, IOException, InputStream, SequenceInputStream}
+import _root_.java.net.{InetAddress, Socket}
+import _root_.java.nio.charset.StandardCharsets
+import _root_.java.util.concurrent.CountDownLatch
+
+import com.amarkhel.benchmark.GameGenerator
+import com.amarkhel.java.{FusedGameService, ScoringCoordinator}
+import org.scalatest.FunSuite
+
+import scala.concurrent.ExecutionContext.Implicits.global
+import scala.concurrent.duration._
+import scala.concurrent.{Await, Future}
+import scala.sys.process._
+
+class ScoringCoordinatorTest extends FunSuite {
+
+  private val games = GameGenerator.games(9, 10000, 0.3, 0.3, 0.1)
+
+  private def expected(lines:Seq[String]) = lines.map { game =>
+    val result = FusedGameService.instance.tryScore(game)
+    (if (result.isSuccess) result.getScore else -result.getError.getCode).toString
+  }
+
+  private def score(coordinator:ScoringCoordinator, input:InputStream) = {
+    val output = new ByteArrayOutputStream
+    val lines = coordinator.score(input, output)
+    val result = new String(output.toByteArray, StandardCharsets.US_ASCII).split("\n", -1).dropRight(1).toSeq
+    assert(result.size === lines)
+    result
+  }
+
+  private def text(lines:Seq[String]) = new ByteArrayInputStream(lines.mkString("\n").getBytes(StandardCharsets.US_ASCII))
+
+  test("Workers should score games in order of input") {
+    val coordinator = new ScoringCoordinator(2, 700, 0)
+    try {
+      assert(score(coordinator, text(games)) === expected(games))
+      assert(score(coordinator, new ByteArrayInputStream("X|X|X|X|X|X|X|X|X|X||XX\r\n\n".getBytes)) === Seq("300", "-1"))
+      assert(score(coordinator, new ByteArrayInputStream(Array.emptyByteArray)).isEmpty)
+      assert(coordinator.getRestarts === 0)
+    } finally coordinator.close()
+  }
+  test("Recycled workers should be replaced without retries") {
+    val coordinator = new ScoringCoordinator(1, 500, 3)
+    try {
+      assert(score(coordinator, text(games)) === expected(games))
+      assert(coordinator.getRestarts === 0)
+    } finally coordinator.close()
+  }
+  test("Chunk of killed worker should be scored by a new one") {
+    val coordinator = new ScoringCoordinator(1, 1000, 0)
+    try {
+      val pattern = "ScoringWorker " + coordinator.getPort
+      val released = new CountDownLatch(1)
+      val rest = new InputStream {
+        private lazy val delegate = { released.await(); text(games.drop(1000)) }
+        override def read() : Int = delegate.read()
+        override def read(bytes:Array[Byte], offset:Int, length:Int) : Int = delegate.read(bytes, offset, length)
+      }
+      val first = new ByteArrayInputStream((games.take(1000).mkString("\n") + "\n").getBytes(StandardCharsets.US_ASCII))
+      val result = Future(score(coordinator, new SequenceInputStream(first, rest)))
+      val deadline = System.currentTimeMillis + 30000
+      while (Seq("pgrep", "-f", pattern).!(ProcessLogger(_ => ())) != 0 && System.currentTimeMillis < deadline) Thread.sleep(20)
+      assert(Seq("pkill", "-9", "-f", pattern).! === 0)
+      released.countDown()
+      assert(Await.result(result, 60.seconds) === expected(games))
+      assert(coordinator.getRestarts >= 1)
+    } finally coordinator.close()
+  }
+  test("Connection without worker token should be closed") {
+    val coordinator = new ScoringCoordinator(1, 1000, 0)
+    val impostor = new Socket(InetAddress.getLoopbackAddress, coordinator.getPort)
+    try {
+      new DataOutputStream(impostor.getOutputStream).writeLong(42)
+      assert(score(coordinator, text(games)) === expected(games))
+      impostor.setSoTimeout(10000)
+      assert(impostor.getInputStream.read() === -1)
+      assert(coordinator.getRestarts === 0)
+    } finally {
+      impostor.close()
+      coordinator.close()
+    }
+  }
+  test("Closed coordinator should reject input") {
+    val coordinator = new ScoringCoordinator(1)
+    coordinator.close()
+    assertThrows[IOException](coordinator.score(text(games.take(10)), new ByteArrayOutputStream))
+  }
+}
@@ -0,0 +1,97 @@
+package com.amarkhel
+
+import _root_.java.io.{BufferedReader, InputStreamReader}
+import _root_.java.net.{InetSocketAddress, Socket}
+import _root_.java.nio.charset.StandardCharsets
+
+import com.amarkhel.benchmark.{GameGenerator, ServerLoadTest}
+import com.amarkhel.java.{ErrorCode, ScoringServer, GameService => JavaGameService}
+import org.scalatest.{BeforeAndAfterAll, FunSuite}
+
+import scala.concurrent.ExecutionContext.Implicits.global
+import scala.concurrent.duration._
+import scala.concurrent.{Await, Future, blocking}
+
+class ScoringServerTest extends FunSuite with BeforeAndAfterAll {
+
+  private val server = new ScoringServer(new InetSocketAddress("127.0.0.1", 0))
+
+  override def beforeAll(): Unit = server.start()
+
+  override def afterAll(): Unit = server.close()
+
+  private def address = new InetSocketAddress("127.0.0.1", server.getPort)
+
+  private def expected(game:String) = {
+    val result = JavaGameService.classic.tryCalculateScore(game)
+    if (result.isSuccess) result.getScore else -result.getError.getCode
+  }
+
+  /**
+    * Sends all bytes at once, closes output and reads all answers till server closes connection.
+    */
+  private def exchange(request:String) = {
+    val socket = new Socket()
+    try {
+      socket.connect(address)
+      socket.getOutputStream.write(request.getBytes(StandardCharsets.US_ASCII))
+      socket.shutdownOutput()
+      val reader = new BufferedReader(new InputStreamReader(socket.getInputStream, StandardCharsets.US_ASCII))
+      Iterator.continually(reader.readLine()).takeWhile(_ != null).map(_.toInt).toList
+    } finally {
+      socket.close()
+    }
+  }
+
+  test("Pipelined games should be answered in order with scores or error codes") {
+    val games = GameGenerator.games(5, 2000, 0.3, 0.3, 0.2)
+    assert(exchange(games.mkString("", "\n", "\n")) === games.map(expected).toList)
+  }
+  test("Windows line ends and last line without line end should be accepted") {
+    assert(exchange("X|X|X|X|X|X|X|X|X|X||XX\r\n9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||") === List(300, 90))
+  }
+  test("Empty and too long lines should be answered as wrong format") {
+    val code = -ErrorCode.WRONG_FORMAT.getCode
+    val long = "X|" * 1000
+    assert(exchange("\n" + long + "\nX|X|X|X|X|X|X|X|X|X||XX\n") === List(code, code, 300))
+  }
+  test("Answers should not be lost, when client reads them only after sending all games") {
+    val games = GameGenerator.games(9, 50000, 0.3, 0.3, 0.1)
+    assert(exchange(games.mkString("\n")) === games.map(expected).toList)
+  }
+  test("Lines left in input after client has finished should be answered too") {
+    //each empty line gets answer, which is longer then the line, so answers don't fit into output buffer at once
+    assert(exchange("\n" * 60000) === List.fill(60000)(-ErrorCode.WRONG_FORMAT.getCode))
+  }
+  test("Concurrent pipelining clients should get correct answers") {
+    val report = ServerLoadTest.run(address, 4, 5000, 32, GameGenerator.games(11, 1000, 0.3, 0.3, 0.15))
+    assert(report.getRequests === 20000)
+    assert(report.getMismatches === 0)
+    assert(report.getLatency.getCount === 20000)
+  }
+  test("Closing busy server should stop its loop without errors") {
+    val request = GameGenerator.games(13, 1000, 0.3, 0.3, 0.15).mkString("", "\n", "\n").getBytes(StandardCharsets.US_ASCII)
+    (1 to 20).foreach { _ =>
+      val busy = new ScoringServer(new InetSocketAddress("127.0.0.1", 0))
+      val loop = Future(blocking(busy.run()))
+      val clients = (1 to 4).map { _ =>
+        Future(blocking {
+          val socket = new Socket("127.0.0.1", busy.getPort)
+          try {
+            val input = socket.getInputStream
+            val answers = new Array[Byte](64 * 1024)
+            while (true) {
+              socket.getOutputStream.write(request)
+              input.read(answers)
+            }
+          } finally socket.close()
+        })
+      }
+      Thread.sleep(20)
+      busy.close()
+      assert(loop.isCompleted)
+      Await.result(loop, 10.seconds)
+      clients.foreach(client => Await.ready(client, 10.seconds))
+    }
+  }
+}
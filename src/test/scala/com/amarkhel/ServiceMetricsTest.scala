@@ -0,0 +1,73 @@
+package com.amarkhel
+
+import _root_.java.lang.management.ManagementFactory
+
+import com.amarkhel.java.metrics.{LatencyHistogram, ServiceMetrics}
+import com.amarkhel.java.{ErrorCode, ParseException, GameService => JavaGameService}
+import org.scalatest.FunSuite
+
+class ServiceMetricsTest extends FunSuite {
+
+  test("Pre-defined services should not be instrumented") {
+    assert(JavaGameService.classic.getMetrics == null)
+  }
+  test("Instrumented service should count calls and failures by error") {
+    val service = JavaGameService.classic.withMetrics("test-counts")
+    try {
+      assert(service.calculateScore("X|X|X|X|X|X|X|X|X|X||XX") === 300)
+      assert(service.tryCalculateScore("X|X||").getError === ErrorCode.COUNT_FRAME)
+      assert(intercept[ParseException](service.calculateScore("X|X|X|X|X|X|X|X|X|a||XX")).getMessage === ErrorCode.WRONG_FORMAT.getMessage)
+      assert(service.calculateScores(Array("9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||", "X|X|X|X|X|X|X|X|X|X||"), new Array[Int](2), new Array[String](2)) === 1)
+      val snapshot = service.getMetrics.snapshot
+      assert(snapshot.getCalls === 5)
+      assert(snapshot.getFailures === 3)
+      assert(snapshot.getFailuresByError.get("COUNT_FRAME") === 1)
+      assert(snapshot.getFailuresByError.get("WRONG_FORMAT") === 1)
+      assert(snapshot.getFailuresByError.get("BONUS_FRAME_SHOULD_EXIST") === 1)
+      assert(snapshot.getFailuresByError.get(ServiceMetrics.OTHER_ERROR) === 0)
+      assert(snapshot.getParseLatency.getCount === 5)
+      assert(snapshot.getValidateLatency.getCount === 4)
+      assert(snapshot.getCalculateLatency.getCount === 2)
+      service.getMetrics.reset()
+      assert(service.getMetrics.snapshot.getCalls === 0)
+    } finally {
+      service.getMetrics.unregister()
+    }
+  }
+  test("Calculation errors should be counted as other errors") {
+    val service = JavaGameService.classicNoValidator.withMetrics("test-other")
+    try {
+      assert(!service.tryCalculateScore("X||").isSuccess)
+      intercept[IndexOutOfBoundsException](service.calculateScore("X||"))
+      assert(service.getMetrics.snapshot.getFailuresByError.get(ServiceMetrics.OTHER_ERROR) === 2)
+    } finally {
+      service.getMetrics.unregister()
+    }
+  }
+  test("Metrics should be available through JMX") {
+    val service = JavaGameService.fp.withMetrics("test-jmx")
+    try {
+      service.calculateScore("X|X|X|X|X|X|X|X|X|X||XX")
+      val server = ManagementFactory.getPlatformMBeanServer
+      val name = service.getMetrics.getObjectName
+      assert(server.getAttribute(name, "Calls") === 1L)
+      assert(server.getAttribute(name, "Failures") === 0L)
+      assert(server.getAttribute(name, "CalculateLatencyP99").asInstanceOf[Long] > 0)
+    } finally {
+      service.getMetrics.unregister()
+    }
+    assert(!ManagementFactory.getPlatformMBeanServer.isRegistered(service.getMetrics.getObjectName))
+  }
+  test("Histogram should put latencies to power of two buckets") {
+    val histogram = new LatencyHistogram
+    (1 to 98).foreach(_ => histogram.record(100))
+    histogram.record(5000)
+    histogram.record(Long.MaxValue)
+    val snapshot = histogram.snapshot
+    assert(snapshot.getCount === 100)
+    assert(snapshot.percentileNanos(50) === 128)
+    assert(snapshot.percentileNanos(99) === 8192)
+    assert(snapshot.percentileNanos(100) === Long.MaxValue)
+    assert(new LatencyHistogram().snapshot.percentileNanos(99) === 0)
+  }
+}
@@ -0,0 +1,52 @@
+package com.amarkhel
+
+import _root_.java.util.{Arrays => JArrays}
+
+import com.amarkhel.java.model.{Ball => JBall, Frame => JFrame}
+import com.amarkhel.java.validator.{FullValidator => JFullValidator, SinglePassValidator => JSinglePassValidator}
+import org.scalatest.FunSuite
+
+import scala.collection.JavaConverters._
+import scala.util.Random
+
+class SinglePassValidatorTest extends FunSuite {
+
+  private case class RawBall(pins:Int, isBonus:Boolean, isSpare:Boolean, isStrike:Boolean)
+
+  private val random = new Random(3)
+  private val pinValues = Seq(-1, 0, 1, 4, 5, 6, 9, 10, 11)
+  private val pool = Seq(
+    Seq(RawBall(10, false, false, true)), Seq(RawBall(4, false, false, false), RawBall(6, false, true, false)),
+    Seq(RawBall(2, false, false, false), RawBall(3, false, false, false)), Seq(RawBall(0, false, false, false), RawBall(0, false, false, false)),
+    Seq(RawBall(5, true, false, false)), Seq(RawBall(5, true, false, false), RawBall(10, true, false, false)))
+
+  private def randomBall = RawBall(pinValues(random.nextInt(pinValues.size)), random.nextInt(8) == 0, random.nextInt(6) == 0, random.nextInt(6) == 0)
+
+  private def randomFrame = if (random.nextInt(3) > 0) pool(random.nextInt(pool.size)) else Seq.fill(random.nextInt(4))(randomBall)
+
+  private def randomFrames = Seq.fill(9 + random.nextInt(4))(randomFrame)
+
+  private def toJava(frames:Seq[Seq[RawBall]]) =
+    frames.map(balls => new JFrame(balls.map(b => new JBall(b.pins, b.isBonus, b.isSpare, b.isStrike)).asJava)).asJava
+
+  private def toScala(frames:Seq[Seq[RawBall]]) =
+    frames.map(balls => Frame(balls.map(b => Ball(b.pins, b.isBonus, b.isStrike, b.isSpare)))).toArray
+
+  test("Java single-pass validator should report the same error as full validator") {
+    val full = new JFullValidator
+    val singlePass = new JSinglePassValidator
+    val results = (1 to 100000).map { _ =>
+      val frames = toJava(randomFrames)
+      val expected = full.validate(frames)
+      assert(singlePass.validate(frames) === expected, frames)
+      expected
+    }
+    assert(results.distinct.size === 9, "All errors and correct games should be generated")
+  }
+  test("Scala single-pass validator should report the same error as full validator") {
+    (1 to 100000).foreach { _ =>
+      val frames = toScala(randomFrames)
+      assert(SinglePassValidator.validate(frames) === FullValidator.validate(frames), JArrays.toString(frames.asInstanceOf[Array[AnyRef]]))
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.amarkhel
+
+import com.amarkhel.benchmark.GameGenerator
+import com.amarkhel.java.{PackedGame, TableCalculation, ClassicCalculation => JavaClassicCalculation}
+import org.scalatest.FunSuite
+
+class TableCalculationTest extends FunSuite {
+
+  private val calculation = new TableCalculation
+  private val classic = new JavaClassicCalculation
+  private val games = GameGenerator.legalGames(1, 20000).map(PackedGame.parse(_).toGame) ++
+    Seq("X|X|X|X|X|X|X|X|X|X||XX", "--|--|--|--|--|--|--|--|--|--||", "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|X|X|X|X|X|X|X|X|X||X-",
+      "X|7/|9-|X|-8|8/|-6|X|X|X||81", "5/|X|5/|X|5/|X|5/|X|5/|5/||X", "X|X|X|X|X|X|X|X|X|5/||X").map(PackedGame.parse(_).toGame)
+
+  test("Table calculation should give the same score as classic one") {
+    games.foreach(game => assert(calculation.score(game) === classic.score(game), game))
+  }
+  test("Table calculation on frame codes should give the same score as classic one") {
+    games.foreach(game => assert(calculation.score(TableCalculation.encode(game)) === classic.score(game), game))
+  }
+}
@@ -0,0 +1,111 @@
+package com.amarkhel
+
+import com.amarkhel.java.{IncrementalScorer, ParseException, WhatIfAnalytics, Parser => JavaParser}
+import com.amarkhel.java.validator.{NoOpValidator => JavaNoOpValidator}
+import org.scalatest.FunSuite
+
+import scala.collection.JavaConverters._
+import scala.util.Random
+
+class WhatIfAnalyticsTest extends FunSuite {
+
+  private def lane(rolls:Seq[Int]) = {
+    val scorer = new IncrementalScorer
+    rolls.foreach(scorer.roll)
+    scorer
+  }
+
+  private def legal(rolls:Seq[Int]) = try { lane(rolls); true } catch { case _:ParseException => false }
+
+  /**
+    * Final score and count of pins left for every way to finish the game.
+    */
+  private def finishes(rolls:Vector[Int], pins:Int = 0) : Seq[(Int, Int)] = {
+    val scorer = lane(rolls)
+    if (scorer.isComplete) Seq((scorer.getScore, pins))
+    else (0 to 10).map(rolls :+ _).filter(legal).flatMap(next => finishes(next, pins + next.last))
+  }
+
+  private def randomRolls(random:Random, count:Int) = {
+    val scorer = new IncrementalScorer
+    var rolls = Vector.empty[Int]
+    while (rolls.size < count && !scorer.isComplete) {
+      val pins = random.nextInt(11)
+      if (legal(rolls :+ pins)) {
+        scorer.roll(pins)
+        rolls :+= pins
+      }
+    }
+    rolls
+  }
+
+  private def check(rolls:Vector[Int]) = {
+    val scorer = lane(rolls)
+    val all = finishes(rolls)
+    val max = all.map(_._1).max
+    assert(WhatIfAnalytics.getMinScore(scorer) === all.map(_._1).min, rolls)
+    assert(WhatIfAnalytics.getMaxScore(scorer) === max, rolls)
+    (scorer.getScore to max + 1).foreach { target =>
+      val reaching = all.filter(_._1 >= target).map(_._2)
+      assert(WhatIfAnalytics.getPinsToReach(scorer, target) === (if (reaching.isEmpty) -1 else reaching.min), (rolls, target))
+    }
+  }
+
+  test("Empty game can reach from 0 to 300 points") {
+    val scorer = new IncrementalScorer
+    assert(WhatIfAnalytics.getMinScore(scorer) === 0)
+    assert(WhatIfAnalytics.getMaxScore(scorer) === 300)
+    assert(WhatIfAnalytics.getPinsToReach(scorer, 0) === 0)
+    assert(WhatIfAnalytics.getPinsToReach(scorer, 300) === 120)
+    assert(WhatIfAnalytics.getPinsToReach(scorer, 301) === -1)
+  }
+  test("Analytics should match enumeration of all finishes of random partial games") {
+    val random = new Random(11)
+    (1 to 60).foreach(_ => check(randomRolls(random, 14 + random.nextInt(8))))
+  }
+  test("Analytics should match enumeration for strikes and spares around the last frame") {
+    Seq(Vector(10, 10, 10, 10, 10, 10, 10, 10, 10), Vector(10, 10, 10, 10, 10, 10, 10, 10, 10, 10),
+      Vector(10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10), Vector(10, 10, 10, 10, 10, 10, 10, 10, 5, 5),
+      Vector(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 10, 3), Vector(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 9, 1))
+      .foreach(check)
+  }
+  test("Complete game can't change") {
+    val scorer = new IncrementalScorer
+    "X7/9-X-88/-6XXX81".foreach(scorer.roll)
+    assert(WhatIfAnalytics.getMaxScore(scorer) === 167 && WhatIfAnalytics.getMinScore(scorer) === 167)
+    assert(WhatIfAnalytics.getPinsToReach(scorer, 167) === 0 && WhatIfAnalytics.getPinsToReach(scorer, 168) === -1)
+  }
+  test("Partial game can be rolled by frames") {
+    val frames = new JavaParser(new JavaNoOpValidator).parse("X|7/|9-|X|-8|8/|-6|X|X|X||81").getFrames.asScala
+    val byFrames = new IncrementalScorer
+    frames.take(6).foreach(byFrames.roll)
+    val byPins = lane(Seq(10, 7, 3, 9, 0, 10, 0, 8, 8, 2))
+    assert(byFrames.getScore === byPins.getScore)
+    assert(WhatIfAnalytics.getMaxScore(byFrames) === WhatIfAnalytics.getMaxScore(byPins))
+  }
+  test("Lane can overtake the leader only if its best finish beats what leader has already") {
+    val leader = lane(Seq.fill(11)(10))
+    val chaser = lane(Seq.fill(14)(0))
+    assert(WhatIfAnalytics.getMinScore(leader) === 290)
+    assert(WhatIfAnalytics.getMaxScore(chaser) === 90)
+    assert(!WhatIfAnalytics.canOvertake(chaser, leader))
+    assert(WhatIfAnalytics.getPinsToOvertake(chaser, leader) === -1)
+    assert(WhatIfAnalytics.canOvertake(leader, chaser))
+    assert(WhatIfAnalytics.getPinsToOvertake(leader, chaser) === 0)
+  }
+  test("Outlook should compare each lane with the best of other lanes") {
+    val random = new Random(5)
+    val lanes = Array.fill(200)(lane(randomRolls(random, random.nextInt(22))))
+    val outlook = WhatIfAnalytics.outlook(lanes:_*)
+    lanes.indices.foreach { i =>
+      val others = lanes.indices.filter(_ != i).map(j => lanes(j).getScore)
+      val target = if (others.isEmpty) 0 else others.max + 1
+      assert(outlook(i).getMinScore === lanes(i).getScore)
+      assert(outlook(i).getMaxScore === WhatIfAnalytics.getMaxScore(lanes(i)))
+      assert(outlook(i).getPinsToWin === WhatIfAnalytics.getPinsToReach(lanes(i), target))
+      assert(outlook(i).isCanWin === (outlook(i).getMaxScore >= target))
+    }
+    assert(WhatIfAnalytics.outlook().isEmpty)
+    assert(WhatIfAnalytics.outlook(new IncrementalScorer).head.getPinsToWin === 0)
+  }
+}